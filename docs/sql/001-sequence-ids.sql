@@ -0,0 +1,16 @@
+-- Moves users and addresses from IDENTITY columns to the pooled sequences Hibernate now allocates ids from.
+-- INCREMENT BY is the allocation size: Hibernate adopts whatever the sequence uses
+-- (hibernate.id.sequence.increment_size_mismatch_strategy=fix), so it can be tuned here without a rebuild.
+-- PostgreSQL, run once with the application stopped.
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+SELECT setval('users_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 1, false);
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS addresses_seq INCREMENT BY 50;
+SELECT setval('addresses_seq', COALESCE((SELECT MAX(id) FROM addresses), 0) + 1, false);
+ALTER TABLE addresses ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+COMMIT;
@@ -0,0 +1,4 @@
+-- Composite index backing keyset pagination of GET /users (order by name, id).
+-- PostgreSQL; CONCURRENTLY avoids blocking writes, so run it outside a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_name_id ON users (name, id);
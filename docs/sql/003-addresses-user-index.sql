@@ -0,0 +1,4 @@
+-- Composite index backing GET /users/{id}/addresses (where user_id = ? order by id).
+-- PostgreSQL; CONCURRENTLY avoids blocking writes, so run it outside a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_addresses_user_id_id ON addresses (user_id, id);
@@ -0,0 +1,5 @@
+-- Optimistic locking versions backing the ETags of GET /users/{id} and GET /addresses/{id}.
+-- PostgreSQL 11+ adds a NOT NULL column with a constant default without rewriting the table.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE addresses ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
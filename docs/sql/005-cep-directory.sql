@@ -0,0 +1,14 @@
+-- Local copy of ViaCEP answers backing DirectoryViaCEPService (entity CepDirectoryEntry).
+-- PostgreSQL; needed wherever ddl-auto does not create tables (the prod profile runs with ddl-auto=none).
+
+CREATE TABLE IF NOT EXISTS cep_directory (
+    zip_code     varchar(8)   NOT NULL,
+    street       varchar(255),
+    complement   varchar(255),
+    number       varchar(255),
+    neighborhood varchar(255),
+    city         varchar(255),
+    state        varchar(2),
+    fetched_at   timestamp(6) NOT NULL,
+    CONSTRAINT cep_directory_pkey PRIMARY KEY (zip_code)
+);
@@ -0,0 +1,94 @@
+package com.muller.cepapp.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.muller.cepapp.CepApplication;
+import com.muller.cepapp.entity.Address;
+import com.muller.cepapp.entity.User;
+import com.muller.cepapp.repository.AddressRepository;
+import com.muller.cepapp.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Inserts {@code rows} addresses in one transaction against the test profile database, rolled back afterwards so
+ * the table does not grow between iterations. Compare {@code jdbcBatchSize=1} (one round trip per row) with the
+ * configured batch size: with pooled sequence ids the batched run should stay close to linear in {@code rows}.
+ * <p>
+ * {@code ./gradlew jmh -Pjmh.includes=AddressInsertBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AddressInsertBenchmark {
+
+    private static final String EMAIL = "address.insert.benchmark@example.com";
+
+    @Param({ "100", "1000", "5000" })
+    private int rows;
+
+    @Param({ "1", "50" })
+    private int jdbcBatchSize;
+
+    private ConfigurableApplicationContext context;
+    private AddressRepository addressRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private User user;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(CepApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.jpa.show-sql=false")
+                .run();
+
+        addressRepository   = context.getBean(AddressRepository.class);
+        entityManager       = context.getBean(EntityManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        user = userRepository.findByEmail(EMAIL)
+                .orElseGet(() -> userRepository.save(new User("Benchmark User", EMAIL, "benchmark-password", User.Role.ROLE_USER)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void saveAll() {
+        List<Address> addresses = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            addresses.add(new Address("Praça da Sé", String.valueOf(i), null, "Sé", "São Paulo", "SP", "01001000", user));
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            addressRepository.saveAll(addresses);
+            addressRepository.flush();
+            status.setRollbackOnly();
+        });
+    }
+
+}
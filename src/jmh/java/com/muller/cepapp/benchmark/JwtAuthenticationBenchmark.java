@@ -0,0 +1,79 @@
+package com.muller.cepapp.benchmark;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.muller.cepapp.security.UserSecurityDetails;
+import com.muller.cepapp.service.JwtService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Per-request cost of authenticating a bearer token: {@code singleParse} is what the filter does with the token
+ * cache disabled, {@code cachedParse} a repeated token with it enabled, and {@code tripleParse} reproduces the
+ * original flow (key decoded and parser built for each of three parses).
+ * <p>
+ * {@code ./gradlew jmh -Pjmh.includes=JwtAuthenticationBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET = "PVY/llEmWYIBTnQdHxDVD7h9HiLB4D5dcG1i3u7ddmY=";
+
+    private JwtService jwtService;
+    private JwtService cachingJwtService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtService        = new JwtService(SECRET, 60);
+        cachingJwtService = new JwtService(SECRET, 60, true, 1000);
+        userDetails       = new UserSecurityDetails(1L, "benchmark@example.com", "benchmark-password", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        token             = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public boolean singleParse() {
+        Claims claims = jwtService.parseToken(token).orElseThrow();
+        return jwtService.isTokenValid(claims, userDetails);
+    }
+
+    @Benchmark
+    public boolean cachedParse() {
+        Claims claims = cachingJwtService.parseToken(token).orElseThrow();
+        return cachingJwtService.isTokenValid(claims, userDetails);
+    }
+
+    @Benchmark
+    public boolean tripleParse() {
+        String username = legacyClaims().getSubject();
+        return username.equals(userDetails.getUsername())
+                && legacyClaims().getSubject().equals(userDetails.getUsername())
+                && !legacyClaims().getExpiration().before(new Date());
+    }
+
+    private Claims legacyClaims() {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.muller.cepapp.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.muller.cepapp.CepApplication;
+import com.muller.cepapp.entity.Address;
+import com.muller.cepapp.entity.User;
+import com.muller.cepapp.repository.AddressRepository;
+import com.muller.cepapp.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Reads one user by id, one user by email and one address by id, each in its own transaction, against the test
+ * profile database. {@code cacheMode=NORMAL} is a second-level (and query) cache hit, {@code IGNORE} bypasses the
+ * cache, so every read is a round trip to PostgreSQL as before.
+ * <p>
+ * {@code ./gradlew jmh -Pjmh.includes=SecondLevelCacheBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SecondLevelCacheBenchmark {
+
+    private static final String EMAIL = "second.level.cache.benchmark@example.com";
+
+    @Param({ "NORMAL", "IGNORE" })
+    private CacheMode cacheMode;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private User user;
+    private Address address;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(CepApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.jpa.show-sql=false")
+                .run();
+
+        userRepository      = context.getBean(UserRepository.class);
+        entityManager       = context.getBean(EntityManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        AddressRepository addressRepository = context.getBean(AddressRepository.class);
+        user = userRepository.findByEmail(EMAIL)
+                .orElseGet(() -> userRepository.save(new User("Benchmark User", EMAIL, "benchmark-password", User.Role.ROLE_USER)));
+        address = addressRepository.save(new Address("Praça da Sé", "1", null, "Sé", "São Paulo", "SP", "01001000", user));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.getBean(AddressRepository.class).delete(address);
+        context.close();
+    }
+
+    @Benchmark
+    public User findUserById() {
+        return read(() -> entityManager.find(User.class, user.getId()));
+    }
+
+    @Benchmark
+    public User findUserByEmail() {
+        return read(() -> userRepository.findByEmail(EMAIL).orElseThrow());
+    }
+
+    @Benchmark
+    public Address findAddressById() {
+        return read(() -> entityManager.find(Address.class, address.getId()));
+    }
+
+    private <T> T read(Supplier<T> query) {
+        return transactionTemplate.execute(status -> {
+            entityManager.unwrap(Session.class).setCacheMode(cacheMode);
+            return query.get();
+        });
+    }
+
+}
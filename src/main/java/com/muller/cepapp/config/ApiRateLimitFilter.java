@@ -0,0 +1,153 @@
+package com.muller.cepapp.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.muller.cepapp.security.UserSecurityDetails;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Per-client request quotas, applied after {@link JwtAuthenticationFilter}: authenticated requests are counted per
+ * user id, anonymous ones per IP. Every request counts against the {@code api} rule; address writes, which each
+ * cost a ViaCEP lookup, also count against their own tighter rules. A request rejected by one rule is not counted
+ * by the others. The {@code X-RateLimit-*} headers report the most constrained rule that matched.
+ */
+@Component
+public class ApiRateLimitFilter extends OncePerRequestFilter {
+
+    public static final String LIMIT_HEADER     = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String RESET_HEADER     = "X-RateLimit-Reset";
+
+    private record Rule(String name, RequestMatcher matcher, SlidingWindowLimiter limiter, Counter rejected) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final List<Rule> rules;
+
+    @Autowired
+    public ApiRateLimitFilter(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${security.rate-limit.api.limit}") int apiLimit,
+            @Value("${security.rate-limit.api.window}") Duration apiWindow,
+            @Value("${security.rate-limit.address-writes.limit}") int addressWritesLimit,
+            @Value("${security.rate-limit.address-writes.window}") Duration addressWritesWindow,
+            @Value("${security.rate-limit.address-batch.limit}") int addressBatchLimit,
+            @Value("${security.rate-limit.address-batch.window}") Duration addressBatchWindow,
+            @Value("${security.rate-limit.maximum-keys}") long maximumKeys) {
+        this.objectMapper = objectMapper;
+        this.rules        = List.of(
+                rule(meterRegistry, "api", AnyRequestMatcher.INSTANCE,
+                        new SlidingWindowLimiter(apiLimit, apiWindow, maximumKeys)),
+                rule(meterRegistry, "address-writes", new OrRequestMatcher(
+                                new AntPathRequestMatcher("/addresses", HttpMethod.POST.name()),
+                                new AntPathRequestMatcher("/addresses/{id}", HttpMethod.PUT.name())),
+                        new SlidingWindowLimiter(addressWritesLimit, addressWritesWindow, maximumKeys)),
+                rule(meterRegistry, "address-batch", new AntPathRequestMatcher("/addresses/batch", HttpMethod.POST.name()),
+                        new SlidingWindowLimiter(addressBatchLimit, addressBatchWindow, maximumKeys)));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+
+        String client = client(request);
+        SlidingWindowLimiter.Decision tightest = null;
+        List<Rule> acquired = new ArrayList<>(rules.size());
+
+        for (Rule rule : rules) {
+            if (!rule.matcher().matches(request)) {
+                continue;
+            }
+
+            SlidingWindowLimiter.Decision decision = rule.limiter().tryAcquire(client);
+            if (!decision.allowed()) {
+                // A rejected request must not use up the quotas of the rules that admitted it
+                acquired.forEach(r -> r.limiter().release(client));
+                rule.rejected().increment();
+                reject(response, decision);
+                return;
+            }
+            acquired.add(rule);
+            if (tightest == null || decision.remaining() < tightest.remaining()) {
+                tightest = decision;
+            }
+        }
+
+        if (tightest != null) {
+            setHeaders(response, tightest);
+        }
+        filterChain.doFilter(request, response);
+
+    }
+
+    private static String client(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserSecurityDetails userSecurityDetails) {
+            return "user:" + userSecurityDetails.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, SlidingWindowLimiter.Decision decision) throws IOException {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("message", "Rate limit exceeded, try again later");
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        setHeaders(response, decision);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds(decision.waitNanos())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private static void setHeaders(HttpServletResponse response, SlidingWindowLimiter.Decision decision) {
+        response.setHeader(LIMIT_HEADER, Integer.toString(decision.limit()));
+        response.setHeader(REMAINING_HEADER, Integer.toString(decision.remaining()));
+        response.setHeader(RESET_HEADER, Long.toString(seconds(decision.waitNanos())));
+    }
+
+    private static long seconds(long nanos) {
+        return TimeUnit.NANOSECONDS.toSeconds(nanos) + 1;
+    }
+
+    private static Rule rule(MeterRegistry meterRegistry, String name, RequestMatcher matcher, SlidingWindowLimiter limiter) {
+        Counter rejected = Counter.builder("api.ratelimit.rejected")
+                .description("Requests rejected by the API rate limiter")
+                .tag("rule", name)
+                .register(meterRegistry);
+        Gauge.builder("api.ratelimit.clients", limiter, SlidingWindowLimiter::trackedKeys)
+                .description("Clients currently tracked by the API rate limiter")
+                .tag("rule", name)
+                .register(meterRegistry);
+        return new Rule(name, matcher, limiter, rejected);
+    }
+
+}
@@ -1,15 +1,57 @@
 package com.muller.cepapp.config;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class AppConfig {
-    
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService viaCEPHttpExecutor(@Value("${viacep.http.pool-size}") int poolSize) {
+        return Executors.newFixedThreadPool(poolSize);
+    }
+
+    /**
+     * Shared, keep-alive client: connections are pooled by the JDK and multiplexed when ViaCEP negotiates HTTP/2.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public HttpClient viaCEPHttpClient(@Qualifier("viaCEPHttpExecutor") ExecutorService viaCEPHttpExecutor,
+            @Value("${viacep.http.connect-timeout}") Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(connectTimeout)
+                .executor(viaCEPHttpExecutor)
+                .build();
+    }
+
+    /**
+     * Bounds how many CEP lookups a batch import runs at once, across all concurrent batches.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService addressBatchExecutor(@Value("${addresses.batch.parallelism}") int parallelism) {
+        return Executors.newFixedThreadPool(parallelism);
+    }
+
+    /**
+     * Runs password hashing for login and registration off the servlet threads. The queue is bounded and overflow
+     * is rejected, so a login storm is answered with 503 instead of occupying every core and request thread.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService passwordHashingExecutor(@Value("${security.password.hashing.threads}") int threads,
+            @Value("${security.password.hashing.queue-capacity}") int queueCapacity) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new ThreadPoolExecutor.AbortPolicy());
     }
 
 }
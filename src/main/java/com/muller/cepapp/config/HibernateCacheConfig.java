@@ -0,0 +1,74 @@
+package com.muller.cepapp.config;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.muller.cepapp.entity.Address;
+import com.muller.cepapp.entity.User;
+import com.muller.cepapp.repository.UserRepository;
+
+/**
+ * Second-level cache regions, held in-process by Caffeine behind JCache and handed to Hibernate before the entity
+ * manager factory starts. Entity, collection and query regions are bounded; the update timestamps region, which
+ * decides whether a cached query result is still valid, is never evicted.
+ * <p>
+ * Nothing invalidates these regions across nodes: a write on one instance leaves the others serving the old rows
+ * until the TTL expires. Run a single instance with the cache on, or set {@code jpa.second-level-cache.enabled=false}
+ * when scaling out (or replace Caffeine with a clustered JCache provider).
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    @Bean
+    public CacheManager hibernateCacheManager(@Value("${jpa.second-level-cache.maximum-size}") long maximumSize,
+            @Value("${jpa.second-level-cache.ttl}") Duration ttl) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+
+        for (String region : new String[] {
+                User.CACHE_REGION,
+                User.ADDRESSES_CACHE_REGION,
+                Address.CACHE_REGION,
+                UserRepository.BY_EMAIL_CACHE_REGION,
+                RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME }) {
+            createIfAbsent(cacheManager, region, OptionalLong.of(maximumSize), OptionalLong.of(ttl.toNanos()));
+        }
+        createIfAbsent(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                OptionalLong.empty(), OptionalLong.empty());
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    /**
+     * The default cache manager is shared by every application context in the JVM, so a region may already exist.
+     * Hibernate stores immutable disassembled state, so entries are kept by reference instead of serialized copies.
+     */
+    private static void createIfAbsent(CacheManager cacheManager, String region, OptionalLong maximumSize, OptionalLong expireAfterWrite) {
+        if (cacheManager.getCache(region) != null) {
+            return;
+        }
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration.setMaximumSize(maximumSize);
+        configuration.setExpireAfterWrite(expireAfterWrite);
+        cacheManager.createCache(region, configuration);
+    }
+
+}
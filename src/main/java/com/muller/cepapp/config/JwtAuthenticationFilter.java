@@ -1,19 +1,22 @@
 package com.muller.cepapp.config;
 
 import java.io.IOException;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.muller.cepapp.security.PrincipalCache;
 import com.muller.cepapp.service.JwtService;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,23 +29,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtService jwtService;
 
     @Autowired
-    private UserDetailsService userDetailsService;
+    private PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         
         final String authHeader = request.getHeader("Authorization");
-        String jwt = null;
-        String userEmail = null;
+        Optional<Claims> claims = Optional.empty();
 
-        if (StringUtils.hasText(authHeader) && authHeader.startsWith("Bearer ")) {
-            jwt = authHeader.substring(7);
-            userEmail = jwtService.extractUsername(jwt);
+        if (StringUtils.hasText(authHeader) && authHeader.startsWith("Bearer ") && SecurityContextHolder.getContext().getAuthentication() == null) {
+            claims = jwtService.parseToken(authHeader.substring(7));
         }
 
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+        Optional<UserDetails> principal = claims.flatMap(c -> loadPrincipal(c.getSubject()));
+
+        if (principal.isPresent()) {
+            UserDetails userDetails = principal.get();
+            if (jwtService.isTokenValid(claims.get(), userDetails)) {
                 UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -53,5 +56,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
         
     }
+
+    /**
+     * A token can outlive its user; once the user is deleted the request simply stays unauthenticated.
+     */
+    private Optional<UserDetails> loadPrincipal(String email) {
+        try {
+            return Optional.of(this.principalCache.get(email));
+        } catch (UsernameNotFoundException e) {
+            return Optional.empty();
+        }
+    }
     
 }
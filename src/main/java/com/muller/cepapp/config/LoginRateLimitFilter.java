@@ -0,0 +1,193 @@
+package com.muller.cepapp.config;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Throttles {@code POST /users/login} per client IP and per email with token buckets, answering 429 before the
+ * request reaches the password hashing pool. The IP bucket is checked first, so flooding costs no body parsing.
+ */
+@Component
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_BODY_BYTES = 4096;
+
+    private final RequestMatcher loginRequest = new AntPathRequestMatcher("/users/login", HttpMethod.POST.name());
+
+    private final ObjectMapper objectMapper;
+    private final TokenBucketLimiter ipLimiter;
+    private final TokenBucketLimiter emailLimiter;
+
+    @Autowired
+    public LoginRateLimitFilter(ObjectMapper objectMapper,
+            @Value("${security.login-rate-limit.ip.capacity}") int ipCapacity,
+            @Value("${security.login-rate-limit.ip.refill-period}") Duration ipRefillPeriod,
+            @Value("${security.login-rate-limit.email.capacity}") int emailCapacity,
+            @Value("${security.login-rate-limit.email.refill-period}") Duration emailRefillPeriod,
+            @Value("${security.login-rate-limit.maximum-keys}") long maximumKeys) {
+        this.objectMapper = objectMapper;
+        this.ipLimiter    = new TokenBucketLimiter(ipCapacity, ipRefillPeriod, maximumKeys);
+        this.emailLimiter = new TokenBucketLimiter(emailCapacity, emailRefillPeriod, maximumKeys);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !loginRequest.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+
+        long wait = ipLimiter.tryAcquire(request.getRemoteAddr());
+        if (wait > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, "Too many login attempts, try again later", wait);
+            return;
+        }
+
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, "Login request is too large", 0);
+            return;
+        }
+
+        String email = extractEmail(body);
+        if (email != null) {
+            wait = emailLimiter.tryAcquire(email.trim().toLowerCase(Locale.ROOT));
+            if (wait > 0) {
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, "Too many login attempts for this account, try again later", wait);
+                return;
+            }
+        }
+
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+
+    }
+
+    private String extractEmail(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).path("email");
+            return email.isTextual() ? email.asText() : null;
+        } catch (IOException e) {
+            // Malformed bodies are left to the controller, which answers 400
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message, long waitNanos) throws IOException {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("message", message);
+
+        response.setStatus(status.value());
+        if (waitNanos > 0) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1));
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * Replays the login body already read by the filter to the rest of the chain.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The body is already in memory, so it is all available at once.
+                 */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+
+    }
+
+}
@@ -1,6 +1,11 @@
 package com.muller.cepapp.config;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,14 +18,20 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.muller.cepapp.security.TimedPasswordEncoder;
 import com.muller.cepapp.security.UserSecurityDetails;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
@@ -29,9 +40,36 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private LoginRateLimitFilter loginRateLimitFilter;
+
+    @Autowired
+    private ApiRateLimitFilter apiRateLimitFilter;
+
+    /**
+     * New hashes are written as {@code {id}hash} with the configured encoder; any other id or a weaker cost is
+     * rehashed on the next successful login ({@code UserDetailsServiceImpl#updatePassword}). Unprefixed hashes
+     * predate this encoder and are plain BCrypt. PBKDF2 hashes do not record their iteration count, so changing
+     * it invalidates existing PBKDF2 passwords. Hashing and verification are timed by {@link TimedPasswordEncoder}.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+            @Value("${security.password.encoder}") String encodingId,
+            @Value("${security.password.bcrypt.strength}") int bcryptStrength,
+            @Value("${security.password.pbkdf2.iterations}") int pbkdf2Iterations,
+            @Value("${security.password.argon2.memory}") int argon2Memory,
+            @Value("${security.password.argon2.iterations}") int argon2Iterations,
+            @Value("${security.password.argon2.parallelism}") int argon2Parallelism) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("pbkdf2", new Pbkdf2PasswordEncoder("", 16, pbkdf2Iterations, Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+        encoders.put("argon2", new Argon2PasswordEncoder(16, 32, argon2Parallelism, argon2Memory, argon2Iterations));
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(encodingId, encoders);
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return new TimedPasswordEncoder(passwordEncoder, encodingId, "bcrypt", Set.copyOf(encoders.keySet()), meterRegistry);
     }
 
     @Bean
@@ -87,18 +125,26 @@ public class SecurityConfig {
                 .requestMatchers("/users/login", "/users/register").permitAll()
                 .requestMatchers(HttpMethod.GET, "/users").hasRole(adminRole)
                 .requestMatchers(HttpMethod.GET, "/users/{id}").access(userOrAdmin)
+                .requestMatchers(HttpMethod.GET, "/users/{id}/addresses").access(userOrAdmin)
                 .requestMatchers(HttpMethod.POST, "/users").hasRole(adminRole)
                 .requestMatchers(HttpMethod.PUT, "/users/{id}").access(userOrAdmin)
                 .requestMatchers(HttpMethod.DELETE, "/users/{id}").access(userOrAdmin)
                 
                 .requestMatchers(HttpMethod.GET, "/addresses").hasRole(adminRole)
+                .requestMatchers(HttpMethod.GET, "/addresses/export").hasRole(adminRole)
                 .requestMatchers(HttpMethod.GET, "/addresses/{id}").hasAnyRole(userRole, adminRole)
                 .requestMatchers(HttpMethod.POST, "/addresses").hasAnyRole(userRole, adminRole)
+                .requestMatchers(HttpMethod.POST, "/addresses/batch").hasAnyRole(userRole, adminRole)
                 .requestMatchers(HttpMethod.PUT, "/addresses/{id}").hasAnyRole(userRole, adminRole)
                 .requestMatchers(HttpMethod.DELETE, "/addresses/{id}").hasRole(adminRole)
+
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole(adminRole)
                 .anyRequest().permitAll()
             .and()
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(loginRateLimitFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(apiRateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,124 @@
+package com.muller.cepapp.config;
+
+import java.time.Duration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * Allows {@code limit} requests per key in any {@code window}, using the sliding window counter approximation:
+ * the previous fixed window's count, weighted by how much of it still overlaps, plus the current one. Two counters
+ * per key instead of a timestamp per request; each key locks only its own counters.
+ */
+public class SlidingWindowLimiter {
+
+    public record Decision(boolean allowed, int limit, int remaining, long waitNanos) {
+    }
+
+    private final int limit;
+    private final long window;
+    private final Ticker ticker;
+    private final Cache<String, Counters> counters;
+
+    public SlidingWindowLimiter(int limit, Duration window, long maximumKeys) {
+        this(limit, window, maximumKeys, Ticker.systemTicker());
+    }
+
+    SlidingWindowLimiter(int limit, Duration window, long maximumKeys, Ticker ticker) {
+        this.limit    = limit;
+        this.window   = window.toNanos();
+        this.ticker   = ticker;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(window.multipliedBy(2))
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Counts a request for {@code key} if it fits in the window. When it does not, {@code waitNanos} is the time
+     * until it would; otherwise it is the time until the current fixed window rolls over.
+     */
+    public Decision tryAcquire(String key) {
+        long now = ticker.read();
+        return counters.get(key, k -> new Counters(now)).tryAcquire(now);
+    }
+
+    /**
+     * Gives back a request counted by {@link #tryAcquire(String)} that was not served after all.
+     */
+    public void release(String key) {
+        Counters keyCounters = counters.getIfPresent(key);
+        if (keyCounters != null) {
+            keyCounters.release(ticker.read());
+        }
+    }
+
+    public long trackedKeys() {
+        return counters.estimatedSize();
+    }
+
+    private class Counters {
+
+        private long windowStart;
+        private long previous;
+        private long current;
+
+        Counters(long now) {
+            this.windowStart = now;
+        }
+
+        synchronized Decision tryAcquire(long now) {
+            roll(now);
+
+            long elapsed = now - windowStart;
+            double count = previous * (window - elapsed) / (double) window + current;
+
+            if (count + 1 > limit) {
+                return new Decision(false, limit, 0, waitNanos(elapsed));
+            }
+
+            current++;
+            int remaining = (int) Math.max(0, Math.floor(limit - count - 1));
+            return new Decision(true, limit, remaining, window - elapsed);
+        }
+
+        synchronized void release(long now) {
+            roll(now);
+
+            // The released request may already have rolled into the previous window
+            if (current > 0) {
+                current--;
+            } else if (previous > 0) {
+                previous--;
+            }
+        }
+
+        private void roll(long now) {
+            long elapsedWindows = (now - windowStart) / window;
+            if (elapsedWindows > 0) {
+                previous     = elapsedWindows == 1 ? current : 0;
+                current      = 0;
+                windowStart += elapsedWindows * window;
+            }
+        }
+
+        /**
+         * Time until the weighted count leaves room for one more request, assuming no other request arrives.
+         */
+        private long waitNanos(long elapsed) {
+            if (current + 1 <= limit) {
+                // previous * (window - t) / window + current + 1 <= limit
+                double t = window - (limit - current - 1) * (double) window / previous;
+                return Math.max(1, (long) Math.ceil(t) - elapsed);
+            }
+
+            // Only once the current window becomes the previous one, and enough of it has slid out
+            double t = window - (limit - 1) * (double) window / current;
+            return (window - elapsed) + Math.max(0, (long) Math.ceil(t));
+        }
+
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.muller.cepapp.config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * Token buckets keyed by string, each refilling {@code capacity} tokens per {@code refillPeriod}. A bucket is kept
+ * as a single theoretical arrival time (GCRA), so taking a token is one compare-and-set without locks. A bucket
+ * left idle for a whole refill period is full again and is evicted.
+ */
+public class TokenBucketLimiter {
+
+    private final long emissionInterval;
+    private final long burst;
+    private final Ticker ticker;
+    private final Cache<String, AtomicLong> buckets;
+
+    public TokenBucketLimiter(int capacity, Duration refillPeriod, long maximumKeys) {
+        this(capacity, refillPeriod, maximumKeys, Ticker.systemTicker());
+    }
+
+    TokenBucketLimiter(int capacity, Duration refillPeriod, long maximumKeys, Ticker ticker) {
+        this.emissionInterval = refillPeriod.toNanos() / capacity;
+        this.burst            = emissionInterval * capacity;
+        this.ticker           = ticker;
+        this.buckets          = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(refillPeriod)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Takes a token from the bucket of {@code key}. Returns 0 when one was available, otherwise the nanoseconds
+     * until the next one is.
+     */
+    public long tryAcquire(String key) {
+        AtomicLong arrival = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        long now = ticker.read();
+
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + emissionInterval;
+            long wait = next - now - burst;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.muller.cepapp.config;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.muller.cepapp.integration.CachingViaCEPService;
+import com.muller.cepapp.integration.DirectoryViaCEPService;
+import com.muller.cepapp.integration.OfflineCepIndex;
+import com.muller.cepapp.integration.OfflineViaCEPService;
+import com.muller.cepapp.integration.ResilientViaCEPService;
+import com.muller.cepapp.integration.TimedViaCEPService;
+import com.muller.cepapp.integration.ViaCEPService;
+import com.muller.cepapp.repository.CepDirectoryRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Lookup chain: timing -> cache -> offline dataset (optional) -> cep_directory table
+ * -> retry/circuit breaker/bulkhead ({@link ViaCEPResilienceConfig}) -> ViaCEP.
+ */
+@Configuration
+public class ViaCEPConfig {
+
+    @Bean
+    @Primary
+    public TimedViaCEPService timedViaCEPService(CachingViaCEPService cachingViaCEPService, MeterRegistry meterRegistry) {
+        return new TimedViaCEPService(cachingViaCEPService, meterRegistry);
+    }
+
+    @Bean
+    public CachingViaCEPService cachingViaCEPService(DirectoryViaCEPService directoryViaCEPService,
+            ObjectProvider<OfflineViaCEPService> offlineViaCEPService,
+            @Value("${viacep.cache.maximum-size}") long maximumSize,
+            @Value("${viacep.cache.ttl}") Duration ttl,
+            @Value("${viacep.cache.max-stale}") Duration maxStale,
+            @Value("${viacep.cache.negative-ttl}") Duration negativeTtl,
+            @Qualifier("viaCEPRefreshExecutor") ExecutorService viaCEPRefreshExecutor) {
+        ViaCEPService offline = offlineViaCEPService.getIfAvailable();
+        ViaCEPService delegate = offline != null ? offline : directoryViaCEPService;
+        return new CachingViaCEPService(delegate, maximumSize, ttl, maxStale, negativeTtl, viaCEPRefreshExecutor);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService viaCEPRefreshExecutor(@Value("${viacep.cache.refresh-threads}") int refreshThreads) {
+        return Executors.newFixedThreadPool(refreshThreads);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "viacep.offline.enabled", havingValue = "true")
+    public OfflineViaCEPService offlineViaCEPService(DirectoryViaCEPService directoryViaCEPService,
+            @Value("${viacep.offline.csv}") Path csv,
+            @Value("${viacep.offline.index}") Path index) {
+        try {
+            return new OfflineViaCEPService(OfflineCepIndex.openOrCompile(csv, index), directoryViaCEPService);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load the offline CEP dataset from " + csv, e);
+        }
+    }
+
+    @Bean
+    public DirectoryViaCEPService directoryViaCEPService(ResilientViaCEPService resilientViaCEPService, CepDirectoryRepository cepDirectoryRepository,
+            @Value("${viacep.directory.refresh-age}") Duration refreshAge) {
+        return new DirectoryViaCEPService(resilientViaCEPService, cepDirectoryRepository, refreshAge);
+    }
+
+}
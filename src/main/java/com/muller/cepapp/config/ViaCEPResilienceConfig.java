@@ -0,0 +1,119 @@
+package com.muller.cepapp.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.muller.cepapp.exception.InvalidZipCodeException;
+import com.muller.cepapp.exception.ViaCEPException;
+import com.muller.cepapp.integration.ResilientViaCEPService;
+import com.muller.cepapp.integration.RetryBudget;
+import com.muller.cepapp.integration.ViaCEPServiceImpl;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Configuration
+public class ViaCEPResilienceConfig {
+
+    private static final String VIA_CEP = "viacep";
+
+    @Bean
+    public CircuitBreakerRegistry viaCEPCircuitBreakerRegistry(
+            @Value("${viacep.circuit-breaker.failure-rate-threshold}") float failureRateThreshold,
+            @Value("${viacep.circuit-breaker.slow-call-duration-threshold}") Duration slowCallDurationThreshold,
+            @Value("${viacep.circuit-breaker.sliding-window-size}") int slidingWindowSize,
+            @Value("${viacep.circuit-breaker.minimum-number-of-calls}") int minimumNumberOfCalls,
+            @Value("${viacep.circuit-breaker.wait-duration-in-open-state}") Duration waitDurationInOpenState,
+            @Value("${viacep.circuit-breaker.permitted-calls-in-half-open-state}") int permittedCallsInHalfOpenState) {
+        return CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDurationThreshold)
+                .waitDurationInOpenState(waitDurationInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(permittedCallsInHalfOpenState)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordExceptions(ViaCEPException.class)
+                .ignoreExceptions(InvalidZipCodeException.class)
+                .build());
+    }
+
+    @Bean
+    public BulkheadRegistry viaCEPBulkheadRegistry(
+            @Value("${viacep.bulkhead.max-concurrent-calls}") int maxConcurrentCalls,
+            @Value("${viacep.bulkhead.max-wait-duration}") Duration maxWaitDuration) {
+        return BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWaitDuration)
+                .build());
+    }
+
+    @Bean
+    public RetryBudget viaCEPRetryBudget(
+            @Value("${viacep.retry.budget-ratio}") double ratio,
+            @Value("${viacep.retry.budget-max-tokens}") int maximumTokens) {
+        return new RetryBudget(ratio, maximumTokens);
+    }
+
+    @Bean
+    public RetryRegistry viaCEPRetryRegistry(
+            @Value("${viacep.retry.max-attempts}") int maxAttempts,
+            @Value("${viacep.retry.initial-interval}") Duration initialInterval,
+            @Value("${viacep.retry.multiplier}") double multiplier,
+            @Value("${viacep.retry.randomization-factor}") double randomizationFactor) {
+        return RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(maxAttempts)
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(initialInterval, multiplier, randomizationFactor))
+                // Only upstream failures are worth another attempt; ResilientViaCEPService checks the budget
+                .retryExceptions(ViaCEPException.class)
+                .build());
+    }
+
+    @Bean
+    public ResilientViaCEPService resilientViaCEPService(ViaCEPServiceImpl viaCEPServiceImpl,
+            CircuitBreakerRegistry viaCEPCircuitBreakerRegistry,
+            BulkheadRegistry viaCEPBulkheadRegistry,
+            RetryRegistry viaCEPRetryRegistry,
+            RetryBudget viaCEPRetryBudget) {
+        return new ResilientViaCEPService(viaCEPServiceImpl,
+                viaCEPCircuitBreakerRegistry.circuitBreaker(VIA_CEP),
+                viaCEPBulkheadRegistry.bulkhead(VIA_CEP),
+                viaCEPRetryRegistry.retry(VIA_CEP),
+                viaCEPRetryBudget);
+    }
+
+    @Bean
+    public MeterBinder viaCEPResilienceMetrics(CircuitBreakerRegistry viaCEPCircuitBreakerRegistry,
+            BulkheadRegistry viaCEPBulkheadRegistry,
+            RetryRegistry viaCEPRetryRegistry,
+            RetryBudget viaCEPRetryBudget) {
+        return registry -> {
+            TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(viaCEPCircuitBreakerRegistry).bindTo(registry);
+            TaggedBulkheadMetrics.ofBulkheadRegistry(viaCEPBulkheadRegistry).bindTo(registry);
+            TaggedRetryMetrics.ofRetryRegistry(viaCEPRetryRegistry).bindTo(registry);
+
+            Gauge.builder("viacep.retry.budget.available", viaCEPRetryBudget, RetryBudget::available)
+                    .description("Retry tokens left for ViaCEP calls")
+                    .register(registry);
+            FunctionCounter.builder("viacep.retry.budget.exhausted", viaCEPRetryBudget, RetryBudget::exhausted)
+                    .description("Retries skipped because the retry budget was empty")
+                    .register(registry);
+        };
+    }
+
+}
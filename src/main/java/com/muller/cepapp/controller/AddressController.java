@@ -1,11 +1,23 @@
 package com.muller.cepapp.controller;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,50 +25,174 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.muller.cepapp.dto.AddressBatchResult;
+import com.muller.cepapp.dto.AddressResponse;
+import com.muller.cepapp.dto.CursorPage;
 import com.muller.cepapp.entity.Address;
 import com.muller.cepapp.exception.AddressNotFoundException;
 import com.muller.cepapp.security.UserSecurityDetails;
 import com.muller.cepapp.service.AddressService;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
 @RestController
 @RequestMapping("/addresses")
 public class AddressController {
 
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private static final String CSV_HEADER = "id,street,number,complement,neighborhood,city,state,zipCode,userId";
+
     private final AddressService addressService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public AddressController(AddressService addressService) {
+    public AddressController(AddressService addressService, ObjectMapper objectMapper) {
         this.addressService = addressService;
+        this.objectMapper   = objectMapper;
     }
 
     @GetMapping
-    public ResponseEntity<List<Address>> getAllAddresses() {
-        List<Address> addresses = addressService.getAllAddresses();
+    public ResponseEntity<List<AddressResponse>> getAllAddresses() {
+        List<AddressResponse> addresses = addressService.getAllAddresses();
         return new ResponseEntity<>(addresses, HttpStatus.OK);
     }
 
+    /**
+     * Keyset variant of {@link #getAllAddresses()}, selected by the {@code cursor} parameter
+     * (empty for the first page). Ordered by id, without a total count.
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<AddressResponse>> getAllAddresses(@RequestParam String cursor, @RequestParam(defaultValue = "20") int size) {
+        CursorPage<AddressResponse> addresses = addressService.getAllAddresses(cursor, size);
+        return new ResponseEntity<>(addresses, HttpStatus.OK);
+    }
+
+    /**
+     * Streams every address as NDJSON ({@code format=ndjson}, default) or CSV ({@code format=csv}),
+     * writing each row as it is read from the database.
+     */
+    @GetMapping("/export")
+    public void exportAddresses(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        if ("ndjson".equalsIgnoreCase(format)) {
+            response.setContentType(APPLICATION_NDJSON_VALUE);
+            // One record per line, each terminated by '\n'; flushed as the buffer fills rather than per record
+            ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            try (JsonGenerator generator = objectMapper.createGenerator(new BufferedOutputStream(response.getOutputStream()))) {
+                generator.setRootValueSeparator(null);
+                addressService.exportAddresses(address -> {
+                    try {
+                        writer.writeValue(generator, address);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        } else if ("csv".equalsIgnoreCase(format)) {
+            response.setContentType("text/csv;charset=UTF-8");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"addresses.csv\"");
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8))) {
+                writer.write(CSV_HEADER + "\n");
+                addressService.exportAddresses(address -> {
+                    try {
+                        writer.write(toCsvLine(address) + "\n");
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        } else {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, String.format("Unsupported export format '%s'.", format));
+        }
+    }
+
+    /**
+     * Conditional: a matching {@code If-None-Match} is answered with 304 from a version-only query.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<Address> getAddressById(@PathVariable Long id) {
-        Optional<Address> address = addressService.getAddressById(id);
-        return address.map(a -> new ResponseEntity<>(a, HttpStatus.OK))
+    public ResponseEntity<AddressResponse> getAddressById(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Optional<String> etag = addressService.getAddressVersion(id).map(ETags::of);
+            if (etag.isPresent() && ETags.notModified(ifNoneMatch, etag.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag.get()).cacheControl(ETags.REVALIDATE).build();
+            }
+        }
+
+        Optional<AddressResponse> address = addressService.getAddressResponseById(id);
+        return address.map(a -> ResponseEntity.ok().eTag(ETags.of(a.version())).cacheControl(ETags.REVALIDATE).body(a))
                        .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     @PostMapping
-    public ResponseEntity<Address> createAddress(@RequestBody Address address, @AuthenticationPrincipal UserSecurityDetails userSecurityDetails) {
+    public ResponseEntity<AddressResponse> createAddress(@RequestBody Address address, @AuthenticationPrincipal UserSecurityDetails userSecurityDetails) {
         Long userId = userSecurityDetails.getId();
         Address createdAddress = addressService.createAddress(address, userId);
-        return new ResponseEntity<>(createdAddress, HttpStatus.CREATED);
+        return new ResponseEntity<>(AddressResponse.from(createdAddress), HttpStatus.CREATED);
+    }
+
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<AddressBatchResult> createAddresses(HttpServletRequest request, @AuthenticationPrincipal UserSecurityDetails userSecurityDetails) throws IOException {
+        List<Address> addresses = new ArrayList<>();
+
+        // Same as the NDJSON variant: the array is read element by element and abandoned one past the limit
+        try (JsonParser parser = objectMapper.createParser(request.getInputStream())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new HttpMessageNotReadableException("Invalid JSON body: expected an array of addresses", new ServletServerHttpRequest(request));
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY && addresses.size() <= addressService.getBatchMaxSize()) {
+                addresses.add(objectMapper.readValue(parser, Address.class));
+            }
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("Invalid JSON body: " + e.getOriginalMessage(), e, new ServletServerHttpRequest(request));
+        }
+
+        AddressBatchResult result = addressService.createAddresses(addresses, userSecurityDetails.getId());
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @PostMapping(path = "/batch", consumes = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<AddressBatchResult> createAddressesFromNdjson(HttpServletRequest request, @AuthenticationPrincipal UserSecurityDetails userSecurityDetails) throws IOException {
+        List<Address> addresses = new ArrayList<>();
+
+        // Stops one line past the limit, the service rejects the batch without the rest being buffered
+        try (MappingIterator<Address> lines = objectMapper.readerFor(Address.class).readValues(request.getInputStream())) {
+            while (lines.hasNextValue() && addresses.size() <= addressService.getBatchMaxSize()) {
+                addresses.add(lines.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("Invalid NDJSON body: " + e.getOriginalMessage(), e, new ServletServerHttpRequest(request));
+        }
+
+        AddressBatchResult result = addressService.createAddresses(addresses, userSecurityDetails.getId());
+        return new ResponseEntity<>(result, HttpStatus.OK);
     }
 
+    /**
+     * With {@code If-Match}, the update only proceeds while the stored address still has that ETag (412 otherwise).
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<Address> updateAddress(@PathVariable Long id, @RequestBody Address updatedAddress) {
+    public ResponseEntity<AddressResponse> updateAddress(@PathVariable Long id, @RequestBody Address updatedAddress,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            Address address = addressService.updateAddress(id, updatedAddress);
-            return new ResponseEntity<>(address, HttpStatus.OK);
+            AddressResponse address = addressService.updateAddress(id, updatedAddress, current -> ETags.matches(ifMatch, ETags.of(current.version())));
+            return ResponseEntity.ok().eTag(ETags.of(address.version())).body(address);
         } catch (AddressNotFoundException e) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
@@ -67,5 +203,23 @@ public class AddressController {
         addressService.deleteAddress(id);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
+
+    private static String toCsvLine(AddressResponse address) {
+        return String.join(",", csvField(address.id()), csvField(address.street()), csvField(address.number()),
+                csvField(address.complement()), csvField(address.neighborhood()), csvField(address.city()),
+                csvField(address.state()), csvField(address.zipCode()), csvField(address.userId()));
+    }
+
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
     
 }
@@ -0,0 +1,60 @@
+package com.muller.cepapp.controller;
+
+import org.springframework.http.CacheControl;
+
+/**
+ * Strong entity tags derived from the {@code @Version} of an entity, so a tag changes exactly when the row does.
+ */
+final class ETags {
+
+    /**
+     * Responses are per-user, and clients must revalidate them, which a matching {@code If-None-Match} makes cheap.
+     */
+    static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ETags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * {@code If-Match} semantics: an absent header or {@code *} always matches, otherwise one of the listed tags
+     * must equal {@code etag}. Weak tags never match.
+     */
+    static boolean matches(String ifMatch, String etag) {
+        if (ifMatch == null) {
+            return true;
+        }
+
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@code If-None-Match} semantics: true when the client already holds {@code etag}, compared weakly.
+     */
+    static boolean notModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
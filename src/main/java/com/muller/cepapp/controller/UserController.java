@@ -1,12 +1,14 @@
 package com.muller.cepapp.controller;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,57 +17,115 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.muller.cepapp.dto.AddressResponse;
+import com.muller.cepapp.dto.CursorPage;
+import com.muller.cepapp.dto.LoginRequest;
+import com.muller.cepapp.dto.LoginResponse;
+import com.muller.cepapp.dto.RegisterRequest;
+import com.muller.cepapp.dto.UserResponse;
 import com.muller.cepapp.entity.User;
 import com.muller.cepapp.exception.UserNotFoundException;
+import com.muller.cepapp.service.AddressService;
+import com.muller.cepapp.service.AuthenticationService;
 import com.muller.cepapp.service.UserService;
 
+import jakarta.validation.Valid;
+
 @RestController
 @RequestMapping("/users")
 public class UserController {
 
     private final UserService userService;
+    private final AddressService addressService;
+    private final AuthenticationService authenticationService;
 
     @Autowired
-    public UserController(UserService userService) {
-        this.userService = userService;
+    public UserController(UserService userService, AddressService addressService, AuthenticationService authenticationService) {
+        this.userService           = userService;
+        this.addressService        = addressService;
+        this.authenticationService = authenticationService;
     }
 
     @GetMapping
-    public ResponseEntity<Page<User>> getAllUsers(
+    public ResponseEntity<Page<UserResponse>> getAllUsers(
             @PageableDefault(sort = {"name", "email", "createdAt"}, direction = Sort.Direction.ASC) Pageable pageable) {
-        Page<User> users = userService.getAllUsers(pageable);
+        Page<UserResponse> users = userService.getAllUsers(pageable);
+        return new ResponseEntity<>(users, HttpStatus.OK);
+    }
+
+    /**
+     * Keyset variant of {@link #getAllUsers(Pageable)}, selected by the {@code cursor} parameter
+     * (empty for the first page). Ordered by name then id, without a total count.
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<UserResponse>> getAllUsers(@RequestParam String cursor, @RequestParam(defaultValue = "20") int size) {
+        CursorPage<UserResponse> users = userService.getAllUsers(cursor, size);
         return new ResponseEntity<>(users, HttpStatus.OK);
     }
 
+    /**
+     * Conditional: a matching {@code If-None-Match} is answered with 304 from a version-only query.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
-        Optional<User> user = userService.getUserById(id);
-        return user.map(u -> new ResponseEntity<>(u, HttpStatus.OK))
+    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Optional<String> etag = userService.getUserVersion(id).map(ETags::of);
+            if (etag.isPresent() && ETags.notModified(ifNoneMatch, etag.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag.get()).cacheControl(ETags.REVALIDATE).build();
+            }
+        }
+
+        Optional<UserResponse> user = userService.getUserResponseById(id);
+        return user.map(u -> ResponseEntity.ok().eTag(ETags.of(u.version())).cacheControl(ETags.REVALIDATE).body(u))
                    .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
+    @GetMapping("/{id}/addresses")
+    public ResponseEntity<CursorPage<AddressResponse>> getUserAddresses(@PathVariable Long id,
+            @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "20") int size) {
+        CursorPage<AddressResponse> addresses = addressService.getAddressesByUserId(id, cursor, size);
+        return new ResponseEntity<>(addresses, HttpStatus.OK);
+    }
+
     @GetMapping("/email")
-    public ResponseEntity<User> getUserByEmail(@RequestParam String email) {
-        Optional<User> user = userService.getUserByEmail(email);
+    public ResponseEntity<UserResponse> getUserByEmail(@RequestParam String email) {
+        Optional<UserResponse> user = userService.getUserResponseByEmail(email);
         return user.map(u -> new ResponseEntity<>(u, HttpStatus.OK))
                    .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     @PostMapping
-    public ResponseEntity<User> createUser(@RequestBody User user) {
+    public ResponseEntity<UserResponse> createUser(@RequestBody User user) {
         User createdUser = userService.createUser(user);
-        return new ResponseEntity<>(createdUser, HttpStatus.CREATED);
+        return new ResponseEntity<>(UserResponse.from(createdUser), HttpStatus.CREATED);
+    }
+
+    /**
+     * Password checks run on the hashing pool; the servlet thread is released while they wait.
+     */
+    @PostMapping("/login")
+    public CompletableFuture<ResponseEntity<LoginResponse>> login(@Valid @RequestBody LoginRequest request) {
+        return authenticationService.login(request.email(), request.password())
+                .thenApply(token -> new ResponseEntity<>(new LoginResponse(token), HttpStatus.OK));
+    }
+
+    @PostMapping("/register")
+    public CompletableFuture<ResponseEntity<UserResponse>> register(@Valid @RequestBody RegisterRequest request) {
+        return authenticationService.register(request)
+                .thenApply(user -> new ResponseEntity<>(UserResponse.from(user), HttpStatus.CREATED));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<User> updateUser(@PathVariable Long id, @RequestBody User updatedUser) {
+    public ResponseEntity<UserResponse> updateUser(@PathVariable Long id, @RequestBody User updatedUser) {
         try {
             User user = userService.updateUser(id, updatedUser);
-            return new ResponseEntity<>(user, HttpStatus.OK);
+            return new ResponseEntity<>(UserResponse.from(user), HttpStatus.OK);
         } catch (UserNotFoundException e) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
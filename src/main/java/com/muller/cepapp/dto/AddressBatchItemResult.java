@@ -0,0 +1,19 @@
+package com.muller.cepapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one element of a batch, {@code index} being its position in the request.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AddressBatchItemResult(int index, int status, AddressResponse address, String message) {
+
+    public static AddressBatchItemResult created(int index, AddressResponse address) {
+        return new AddressBatchItemResult(index, 201, address, null);
+    }
+
+    public static AddressBatchItemResult failed(int index, int status, String message) {
+        return new AddressBatchItemResult(index, status, null, message);
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.muller.cepapp.dto;
+
+import java.util.List;
+
+public record AddressBatchResult(int created, int failed, List<AddressBatchItemResult> items) {
+
+    public static AddressBatchResult of(List<AddressBatchItemResult> items) {
+        int created = (int) items.stream().filter(item -> item.address() != null).count();
+        return new AddressBatchResult(created, items.size() - created, items);
+    }
+
+}
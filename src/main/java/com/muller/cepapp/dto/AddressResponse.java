@@ -0,0 +1,19 @@
+package com.muller.cepapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.muller.cepapp.entity.Address;
+
+/**
+ * Flat, read-only view of an {@link Address}: the owner is referenced by id only. The version is sent as the ETag,
+ * not in the body.
+ */
+public record AddressResponse(Long id, String street, String number, String complement, String neighborhood, String city,
+        String state, String zipCode, Long userId, @JsonIgnore Long version) {
+
+    public static AddressResponse from(Address address) {
+        Long userId = address.getUser() != null ? address.getUser().getId() : null;
+        return new AddressResponse(address.getId(), address.getStreet(), address.getNumber(), address.getComplement(),
+                address.getNeighborhood(), address.getCity(), address.getState(), address.getZipCode(), userId, address.getVersion());
+    }
+
+}
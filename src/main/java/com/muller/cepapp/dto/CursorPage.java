@@ -0,0 +1,15 @@
+package com.muller.cepapp.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page. {@code nextCursor} is {@code null} on the last page; pass it back as {@code cursor} to get the
+ * next one. There is no total count on purpose, so every page costs the same whatever its depth.
+ */
+public record CursorPage<T>(List<T> content, int size, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+}
@@ -0,0 +1,4 @@
+package com.muller.cepapp.dto;
+
+public record LoginResponse(String token) {
+}
@@ -0,0 +1,36 @@
+package com.muller.cepapp.dto;
+
+import com.muller.cepapp.entity.User;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Self-registration payload, validated before the password is hashed: once hashed, the entity constraints
+ * only see the hash.
+ */
+public record RegisterRequest(
+        @NotBlank(message = "Name is required")
+        @Size(max = 255, message = "Name cannot exceed 255 characters")
+        String name,
+
+        @NotBlank(message = "Email is required")
+        @Email(message = "Invalid email format")
+        @Size(max = 255, message = "Email cannot exceed 255 characters")
+        String email,
+
+        @NotBlank(message = "Password is required")
+        @Pattern(
+            regexp  = "^(?=.*[a-zA-Z0-9\\W])(?!\\s)(?!.*\\s$)(.{8,})$",
+            message = "Password must be at least 8 characters and contain letters, numbers, or symbols, without leading or trailing spaces"
+        )
+        @Size(max = 72, message = "Password cannot exceed 72 characters")
+        String password) {
+
+    public User toUser() {
+        return new User(name, email, password, User.Role.ROLE_USER);
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.muller.cepapp.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.muller.cepapp.entity.User;
+
+/**
+ * Public view of a {@link User}: no password hash and no address collection. The version is sent as the ETag, not
+ * in the body.
+ */
+public record UserResponse(Long id, String name, String email, User.Role role, LocalDateTime createdAt, @JsonIgnore Long version) {
+
+    public static UserResponse from(User user) {
+        return new UserResponse(user.getId(), user.getName(), user.getEmail(), user.getRole(), user.getCreatedAt(), user.getVersion());
+    }
+
+}
@@ -1,27 +1,44 @@
 package com.muller.cepapp.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
-@Table(name = "addresses")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Address.CACHE_REGION)
+@DynamicUpdate
+@Table(name = "addresses", indexes = @Index(name = "idx_addresses_user_id_id", columnList = "user_id, id"))
 @Data
 @NoArgsConstructor
 public class Address {
 
+    public static final String CACHE_REGION = "addresses";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "addresses_seq")
+    @SequenceGenerator(name = "addresses_seq", sequenceName = "addresses_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Street is required")
@@ -61,10 +78,15 @@ public class Address {
     @Column(nullable = false, length = 8)
     private String zipCode;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
 
+    @Version
+    private Long version;
+
     public Address(String street, String number, String complement, String neighborhood, String city, String state, String zipCode, User user) {
         this.street       = street;
         this.number       = number;
@@ -0,0 +1,38 @@
+package com.muller.cepapp.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "cep_directory")
+@Data
+@NoArgsConstructor
+public class CepDirectoryEntry {
+
+    @Id
+    @Column(length = 8)
+    private String zipCode;
+
+    private String street;
+
+    private String complement;
+
+    private String number;
+
+    private String neighborhood;
+
+    private String city;
+
+    @Column(length = 2)
+    private String state;
+
+    @Column(nullable = false)
+    private LocalDateTime fetchedAt;
+
+}
@@ -0,0 +1,13 @@
+package com.muller.cepapp.exception;
+
+public class AddressBatchTooLargeException extends RuntimeException {
+
+    public AddressBatchTooLargeException(String message) {
+        super(message);
+    }
+
+    public AddressBatchTooLargeException(String message, Throwable cause) {
+        super(message, cause);
+    }
+    
+}
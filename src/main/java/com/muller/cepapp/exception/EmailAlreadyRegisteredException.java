@@ -0,0 +1,9 @@
+package com.muller.cepapp.exception;
+
+public class EmailAlreadyRegisteredException extends RuntimeException {
+
+    public EmailAlreadyRegisteredException(String message) {
+        super(message);
+    }
+
+}
@@ -5,5 +5,9 @@ public class InvalidZipCodeException extends RuntimeException {
     public InvalidZipCodeException(String message) {
         super(message);
     }
+
+    public InvalidZipCodeException(String message, Throwable cause) {
+        super(message, cause);
+    }
     
 }
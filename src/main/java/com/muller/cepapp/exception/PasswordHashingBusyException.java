@@ -0,0 +1,9 @@
+package com.muller.cepapp.exception;
+
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
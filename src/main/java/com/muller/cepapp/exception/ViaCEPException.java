@@ -2,6 +2,10 @@ package com.muller.cepapp.exception;
 
 public class ViaCEPException extends RuntimeException {
 
+    public ViaCEPException(String message) {
+        super(message);
+    }
+
     public ViaCEPException(String message, Throwable cause) {
         super(message, cause);
     }
@@ -0,0 +1,9 @@
+package com.muller.cepapp.exception;
+
+public class ViaCEPUnavailableException extends ViaCEPException {
+
+    public ViaCEPUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.muller.cepapp.integration;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.muller.cepapp.exception.InvalidZipCodeException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Size-bounded (W-TinyLFU) cache in front of another {@link ViaCEPService}.
+ * Unknown CEPs are cached too, with their own TTL. Cached responses are shared, treat them as read-only.
+ * Concurrent misses and refreshes of the same CEP share a single call to the delegate.
+ * <p>
+ * Entries older than {@code ttl} are still served for up to {@code maxStale} while they are reloaded in the
+ * background on {@code refreshExecutor}; a failed reload keeps the stale entry, so a ViaCEP outage only
+ * affects CEPs that were never seen or have been stale for longer than {@code maxStale}.
+ * <p>
+ * Hit rates, evictions and load times are published as the {@code viacep} cache metrics.
+ */
+public class CachingViaCEPService implements ViaCEPService, MeterBinder {
+
+    private static final String CACHE_NAME = "viacep";
+
+    private final ViaCEPService delegate;
+    private final LoadingCache<String, CachedLookup> cache;
+
+    public CachingViaCEPService(ViaCEPService delegate, long maximumSize, Duration ttl, Duration maxStale, Duration negativeTtl,
+            Executor refreshExecutor) {
+        this(delegate, maximumSize, ttl, maxStale, negativeTtl, refreshExecutor, Ticker.systemTicker());
+    }
+
+    CachingViaCEPService(ViaCEPService delegate, long maximumSize, Duration ttl, Duration maxStale, Duration negativeTtl,
+            Executor refreshExecutor, Ticker ticker) {
+        this.delegate = delegate;
+        this.cache    = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new LookupExpiry(ttl.plus(maxStale), negativeTtl))
+                .refreshAfterWrite(ttl)
+                .executor(refreshExecutor)
+                .ticker(ticker)
+                .recordStats()
+                .build(this::lookup);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public ViaCEPResponse getAddressByZipCode(String zipCode) {
+        return cache.get(ZipCodes.normalize(zipCode)).unwrap();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private CachedLookup lookup(String zipCode) {
+        try {
+            return new CachedLookup(delegate.getAddressByZipCode(zipCode), null);
+        } catch (InvalidZipCodeException e) {
+            return new CachedLookup(null, e.getMessage());
+        }
+    }
+
+    private record CachedLookup(ViaCEPResponse response, String notFoundMessage) {
+
+        boolean isNotFound() {
+            return response == null;
+        }
+
+        ViaCEPResponse unwrap() {
+            if (isNotFound()) {
+                throw new InvalidZipCodeException(notFoundMessage);
+            }
+            return response;
+        }
+
+    }
+
+    private static class LookupExpiry implements Expiry<String, CachedLookup> {
+
+        private final long maxAgeNanos;
+        private final long negativeTtlNanos;
+
+        LookupExpiry(Duration maxAge, Duration negativeTtl) {
+            this.maxAgeNanos      = maxAge.toNanos();
+            this.negativeTtlNanos = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, CachedLookup value, long currentTime) {
+            return value.isNotFound() ? negativeTtlNanos : maxAgeNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedLookup value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedLookup value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+    }
+
+}
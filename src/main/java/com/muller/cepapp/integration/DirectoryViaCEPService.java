@@ -0,0 +1,107 @@
+package com.muller.cepapp.integration;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+
+import com.muller.cepapp.entity.CepDirectoryEntry;
+import com.muller.cepapp.exception.ViaCEPException;
+import com.muller.cepapp.repository.CepDirectoryRepository;
+
+/**
+ * Serves CEPs from the local cep_directory table and writes every ViaCEP answer through to it.
+ * Entries older than the refresh age are re-fetched, but still served if ViaCEP is unreachable.
+ */
+public class DirectoryViaCEPService implements ViaCEPService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DirectoryViaCEPService.class);
+
+    private final ViaCEPService delegate;
+    private final CepDirectoryRepository cepDirectoryRepository;
+    private final Duration refreshAge;
+
+    public DirectoryViaCEPService(ViaCEPService delegate, CepDirectoryRepository cepDirectoryRepository, Duration refreshAge) {
+        this.delegate               = delegate;
+        this.cepDirectoryRepository = cepDirectoryRepository;
+        this.refreshAge             = refreshAge;
+    }
+
+    @Override
+    public ViaCEPResponse getAddressByZipCode(String zipCode) {
+        String key = ZipCodes.normalize(zipCode);
+
+        Optional<CepDirectoryEntry> stored = find(key);
+        if (stored.isPresent() && isFresh(stored.get())) {
+            return toResponse(stored.get());
+        }
+
+        ViaCEPResponse viaCEPResponse;
+        try {
+            viaCEPResponse = delegate.getAddressByZipCode(key);
+        } catch (RuntimeException e) {
+            return storedOrThrow(key, stored, e);
+        }
+
+        store(key, viaCEPResponse);
+
+        return viaCEPResponse;
+    }
+
+    private ViaCEPResponse storedOrThrow(String key, Optional<CepDirectoryEntry> stored, RuntimeException failure) {
+        if (failure instanceof ViaCEPException && stored.isPresent()) {
+            LOGGER.warn("ViaCEP unavailable, serving stored entry for CEP {}: {}", key, failure.getMessage());
+            return toResponse(stored.get());
+        }
+        throw failure;
+    }
+
+    private Optional<CepDirectoryEntry> find(String key) {
+        try {
+            return cepDirectoryRepository.findById(key);
+        } catch (DataAccessException e) {
+            LOGGER.warn("Could not read CEP {} from the directory: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private boolean isFresh(CepDirectoryEntry entry) {
+        return entry.getFetchedAt().isAfter(LocalDateTime.now().minus(refreshAge));
+    }
+
+    private void store(String key, ViaCEPResponse viaCEPResponse) {
+        CepDirectoryEntry entry = new CepDirectoryEntry();
+        entry.setZipCode(key);
+        entry.setStreet(viaCEPResponse.getStreet());
+        entry.setComplement(viaCEPResponse.getComplement());
+        entry.setNumber(viaCEPResponse.getNumber());
+        entry.setNeighborhood(viaCEPResponse.getNeighborhood());
+        entry.setCity(viaCEPResponse.getCity());
+        entry.setState(viaCEPResponse.getState());
+        entry.setFetchedAt(LocalDateTime.now());
+
+        try {
+            cepDirectoryRepository.save(entry);
+        } catch (DataAccessException e) {
+            // Write-through is best effort, the lookup itself already succeeded
+            LOGGER.warn("Could not store CEP {} in the directory: {}", key, e.getMessage());
+        }
+    }
+
+    private static ViaCEPResponse toResponse(CepDirectoryEntry entry) {
+        ViaCEPResponse viaCEPResponse = new ViaCEPResponse();
+        viaCEPResponse.setZipCode(entry.getZipCode());
+        viaCEPResponse.setStreet(entry.getStreet());
+        viaCEPResponse.setComplement(entry.getComplement());
+        viaCEPResponse.setNumber(entry.getNumber());
+        viaCEPResponse.setNeighborhood(entry.getNeighborhood());
+        viaCEPResponse.setCity(entry.getCity());
+        viaCEPResponse.setState(entry.getState());
+
+        return viaCEPResponse;
+    }
+
+}
@@ -0,0 +1,280 @@
+package com.muller.cepapp.integration;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only CEP dataset compiled from a CSV dump into a sorted binary file and read through a {@link MappedByteBuffer}.
+ * <p>
+ * Layout (big-endian): magic, version, CEP count N, string count M, then N sorted CEPs packed as ints,
+ * N records of five string ids (street, complement, neighborhood, city, state),
+ * M + 1 string offsets and finally the UTF-8 string bytes. String id 0 is the empty string.
+ */
+public class OfflineCepIndex {
+
+    private static final int MAGIC        = 0x43455049;
+    private static final int VERSION      = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int FIELDS       = 5;
+
+    private static final String[] COLUMNS = {"cep", "logradouro", "complemento", "bairro", "localidade", "uf"};
+
+    private final MappedByteBuffer buffer;
+    private final int count;
+    private final int recordsOffset;
+    private final int stringOffsetsOffset;
+    private final int stringsOffset;
+    private final String[] strings;
+
+    private OfflineCepIndex(MappedByteBuffer buffer) {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not a CEP index file");
+        }
+
+        this.buffer              = buffer;
+        this.count               = buffer.getInt(8);
+        this.strings             = new String[buffer.getInt(12)];
+        this.recordsOffset       = HEADER_BYTES + count * Integer.BYTES;
+        this.stringOffsetsOffset = recordsOffset + count * FIELDS * Integer.BYTES;
+        this.stringsOffset       = stringOffsetsOffset + (strings.length + 1) * Integer.BYTES;
+    }
+
+    public static OfflineCepIndex open(Path index) throws IOException {
+        try (FileChannel channel = FileChannel.open(index, StandardOpenOption.READ)) {
+            return new OfflineCepIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Compiles the CSV into the index unless the index is already newer than the CSV, then opens it. Without the
+     * CSV, an existing index is opened as is, so a precompiled index can be deployed on its own.
+     */
+    public static OfflineCepIndex openOrCompile(Path csv, Path index) throws IOException {
+        if (!Files.exists(index) || Files.exists(csv) && Files.getLastModifiedTime(index).compareTo(Files.getLastModifiedTime(csv)) < 0) {
+            compile(csv, index);
+        }
+        return open(index);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns the address for an 8-digit CEP, or {@code null} when the dataset does not know it.
+     */
+    public ViaCEPResponse find(String zipCode) {
+        if (zipCode.length() != 8) {
+            return null;
+        }
+
+        int position = search(Integer.parseInt(zipCode));
+        if (position < 0) {
+            return null;
+        }
+
+        int record = recordsOffset + position * FIELDS * Integer.BYTES;
+
+        ViaCEPResponse viaCEPResponse = new ViaCEPResponse();
+        viaCEPResponse.setZipCode(zipCode);
+        viaCEPResponse.setStreet(string(buffer.getInt(record)));
+        viaCEPResponse.setComplement(string(buffer.getInt(record + 4)));
+        viaCEPResponse.setNeighborhood(string(buffer.getInt(record + 8)));
+        viaCEPResponse.setCity(string(buffer.getInt(record + 12)));
+        viaCEPResponse.setState(string(buffer.getInt(record + 16)));
+
+        return viaCEPResponse;
+    }
+
+    private int search(int cep) {
+        int low  = 0;
+        int high = count - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int value  = buffer.getInt(HEADER_BYTES + middle * Integer.BYTES);
+
+            if (value < cep) {
+                low = middle + 1;
+            } else if (value > cep) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+
+        return -1;
+    }
+
+    private String string(int id) {
+        String value = strings[id];
+        if (value == null) {
+            // Racy but benign: Strings are immutable and decoding is idempotent
+            int start = buffer.getInt(stringOffsetsOffset + id * Integer.BYTES);
+            int end   = buffer.getInt(stringOffsetsOffset + (id + 1) * Integer.BYTES);
+            byte[] bytes = new byte[end - start];
+            buffer.get(stringsOffset + start, bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+            strings[id] = value;
+        }
+        return value;
+    }
+
+    public static void compile(Path csv, Path index) throws IOException {
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        dictionary.put("", 0);
+        strings.add("");
+
+        List<int[]> rows = new ArrayList<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null) {
+                throw new IOException("Empty CEP dataset: " + csv);
+            }
+
+            char delimiter = header.indexOf(';') >= 0 ? ';' : ',';
+            int[] columns = columnIndexes(parseLine(header, delimiter), csv);
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                List<String> values = parseLine(line, delimiter);
+                String cep = ZipCodes.normalize(value(values, columns[0]));
+                if (cep.length() != 8) {
+                    continue;
+                }
+
+                int[] row = new int[FIELDS + 1];
+                row[0] = Integer.parseInt(cep);
+                for (int field = 1; field <= FIELDS; field++) {
+                    String value = value(values, columns[field]);
+                    Integer id = dictionary.get(value);
+                    if (id == null) {
+                        id = strings.size();
+                        dictionary.put(value, id);
+                        strings.add(value);
+                    }
+                    row[field] = id;
+                }
+                rows.add(row);
+            }
+        }
+
+        // Sort by CEP; on duplicates the last row of the dump wins
+        int[][] sorted = rows.toArray(new int[0][]);
+        Arrays.sort(sorted, (a, b) -> Integer.compare(a[0], b[0]));
+        List<int[]> unique = new ArrayList<>(sorted.length);
+        for (int i = 0; i < sorted.length; i++) {
+            if (i + 1 < sorted.length && sorted[i + 1][0] == sorted[i][0]) {
+                continue;
+            }
+            unique.add(sorted[i]);
+        }
+
+        Path temporary = index.resolveSibling(index.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(unique.size());
+            out.writeInt(strings.size());
+
+            for (int[] row : unique) {
+                out.writeInt(row[0]);
+            }
+            for (int[] row : unique) {
+                for (int field = 1; field <= FIELDS; field++) {
+                    out.writeInt(row[field]);
+                }
+            }
+
+            List<byte[]> encoded = new ArrayList<>(strings.size());
+            int offset = 0;
+            out.writeInt(offset);
+            for (String value : strings) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                encoded.add(bytes);
+                offset += bytes.length;
+                out.writeInt(offset);
+            }
+            for (byte[] bytes : encoded) {
+                out.write(bytes);
+            }
+        }
+
+        Files.move(temporary, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static int[] columnIndexes(List<String> header, Path csv) throws IOException {
+        int[] indexes = new int[COLUMNS.length];
+        for (int i = 0; i < COLUMNS.length; i++) {
+            indexes[i] = -1;
+            for (int j = 0; j < header.size(); j++) {
+                if (header.get(j).trim().equalsIgnoreCase(COLUMNS[i])) {
+                    indexes[i] = j;
+                }
+            }
+        }
+
+        if (indexes[0] < 0) {
+            throw new IOException("CEP dataset " + csv + " has no 'cep' column");
+        }
+        return indexes;
+    }
+
+    private static String value(List<String> values, int column) {
+        if (column < 0 || column >= values.size()) {
+            return "";
+        }
+        return values.get(column).trim();
+    }
+
+    private static List<String> parseLine(String line, char delimiter) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+
+        return values;
+    }
+
+}
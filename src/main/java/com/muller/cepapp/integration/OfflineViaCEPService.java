@@ -0,0 +1,61 @@
+package com.muller.cepapp.integration;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Answers from the local {@link OfflineCepIndex} and only falls back to the delegate for CEPs the dataset does not know.
+ * Both are counted as {@code viacep.offline.lookups}, tagged {@code result=hit} or {@code result=miss}.
+ */
+public class OfflineViaCEPService implements ViaCEPService, MeterBinder {
+
+    private static final String LOOKUPS_COUNTER_NAME = "viacep.offline.lookups";
+
+    private final OfflineCepIndex offlineCepIndex;
+    private final ViaCEPService fallback;
+    private final LongAdder hits   = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public OfflineViaCEPService(OfflineCepIndex offlineCepIndex, ViaCEPService fallback) {
+        this.offlineCepIndex = offlineCepIndex;
+        this.fallback        = fallback;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(LOOKUPS_COUNTER_NAME, this, OfflineViaCEPService::hits)
+                .description("CEP lookups answered by the offline dataset")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder(LOOKUPS_COUNTER_NAME, this, OfflineViaCEPService::misses)
+                .description("CEP lookups the offline dataset passed on to the fallback")
+                .tag("result", "miss")
+                .register(registry);
+    }
+
+    @Override
+    public ViaCEPResponse getAddressByZipCode(String zipCode) {
+        String key = ZipCodes.normalize(zipCode);
+
+        ViaCEPResponse viaCEPResponse = offlineCepIndex.find(key);
+        if (viaCEPResponse != null) {
+            hits.increment();
+            return viaCEPResponse;
+        }
+
+        misses.increment();
+        return fallback.getAddressByZipCode(key);
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.muller.cepapp.integration;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.muller.cepapp.exception.ViaCEPException;
+import com.muller.cepapp.exception.ViaCEPUnavailableException;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+
+/**
+ * Retry(CircuitBreaker(Bulkhead(ViaCEP))): rejected calls fail fast with {@link ViaCEPUnavailableException}
+ * instead of waiting on a degraded upstream. A failed attempt only withdraws from the {@link RetryBudget} when another
+ * attempt is left; once the budget is empty the failure is thrown without further retries.
+ */
+public class ResilientViaCEPService implements ViaCEPService {
+
+    private final ViaCEPService delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Retry retry;
+    private final RetryBudget retryBudget;
+
+    public ResilientViaCEPService(ViaCEPService delegate, CircuitBreaker circuitBreaker, Bulkhead bulkhead, Retry retry,
+            RetryBudget retryBudget) {
+        this.delegate       = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead       = bulkhead;
+        this.retry          = retry;
+        this.retryBudget    = retryBudget;
+    }
+
+    @Override
+    public ViaCEPResponse getAddressByZipCode(String zipCode) {
+        retryBudget.deposit();
+
+        Supplier<ViaCEPResponse> call = Bulkhead.decorateSupplier(bulkhead, () -> delegate.getAddressByZipCode(zipCode));
+        call = CircuitBreaker.decorateSupplier(circuitBreaker, call);
+        call = Retry.decorateSupplier(retry, budgeted(call));
+
+        try {
+            return call.get();
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            throw rejected(e);
+        } catch (RetryBudgetExhaustedException e) {
+            throw e.failure;
+        }
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private Supplier<ViaCEPResponse> budgeted(Supplier<ViaCEPResponse> call) {
+        int maxAttempts = retry.getRetryConfig().getMaxAttempts();
+        AtomicInteger attempts = new AtomicInteger();
+
+        return () -> {
+            try {
+                return call.get();
+            } catch (ViaCEPException e) {
+                if (attempts.incrementAndGet() < maxAttempts && !retryBudget.tryWithdraw()) {
+                    throw new RetryBudgetExhaustedException(e);
+                }
+                throw e;
+            }
+        };
+    }
+
+    private static ViaCEPUnavailableException rejected(RuntimeException e) {
+        if (e instanceof CallNotPermittedException) {
+            return new ViaCEPUnavailableException("ViaCEP is unavailable, try again later", e);
+        }
+        return new ViaCEPUnavailableException("Too many concurrent ViaCEP lookups, try again later", e);
+    }
+
+    /**
+     * Not a {@link ViaCEPException}, so {@link Retry} gives up and the original failure is rethrown.
+     */
+    private static class RetryBudgetExhaustedException extends RuntimeException {
+
+        private final ViaCEPException failure;
+
+        RetryBudgetExhaustedException(ViaCEPException failure) {
+            super(failure.getMessage(), failure, false, false);
+            this.failure = failure;
+        }
+
+    }
+
+}
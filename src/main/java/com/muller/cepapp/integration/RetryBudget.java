@@ -0,0 +1,50 @@
+package com.muller.cepapp.integration;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps retries to a fraction of the calls: every call deposits {@code ratio} tokens, every retry withdraws one.
+ * Keeps retries from multiplying the load on ViaCEP when it is already failing.
+ */
+public class RetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long deposit;
+    private final long maximumBalance;
+    private final AtomicLong balance;
+    private final LongAdder exhausted = new LongAdder();
+
+    public RetryBudget(double ratio, int maximumTokens) {
+        this.deposit        = Math.round(ratio * SCALE);
+        this.maximumBalance = maximumTokens * SCALE;
+        this.balance        = new AtomicLong(maximumBalance);
+    }
+
+    public void deposit() {
+        balance.accumulateAndGet(deposit, (current, amount) -> Math.min(maximumBalance, current + amount));
+    }
+
+    public boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                exhausted.increment();
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+
+        return true;
+    }
+
+    public double available() {
+        return balance.get() / (double) SCALE;
+    }
+
+    public long exhausted() {
+        return exhausted.sum();
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.muller.cepapp.integration;
+
+import java.util.concurrent.TimeUnit;
+
+import com.muller.cepapp.exception.InvalidZipCodeException;
+import com.muller.cepapp.exception.ViaCEPUnavailableException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Outermost layer: times every lookup callers make, cache hits included, as {@code viacep.lookup} tagged by
+ * {@code outcome} ({@code found}, {@code not_found}, {@code unavailable} or {@code error}).
+ */
+public class TimedViaCEPService implements ViaCEPService {
+
+    public static final String TIMER_NAME = "viacep.lookup";
+
+    private final ViaCEPService delegate;
+    private final Timer found;
+    private final Timer notFound;
+    private final Timer unavailable;
+    private final Timer error;
+
+    public TimedViaCEPService(ViaCEPService delegate, MeterRegistry meterRegistry) {
+        this.delegate    = delegate;
+        this.found       = timer(meterRegistry, "found");
+        this.notFound    = timer(meterRegistry, "not_found");
+        this.unavailable = timer(meterRegistry, "unavailable");
+        this.error       = timer(meterRegistry, "error");
+    }
+
+    @Override
+    public ViaCEPResponse getAddressByZipCode(String zipCode) {
+        long start = System.nanoTime();
+        try {
+            ViaCEPResponse response = delegate.getAddressByZipCode(zipCode);
+            found.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return response;
+        } catch (RuntimeException e) {
+            timerFor(e).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timer timerFor(Throwable failure) {
+        if (failure instanceof InvalidZipCodeException) {
+            return notFound;
+        }
+        if (failure instanceof ViaCEPUnavailableException) {
+            return unavailable;
+        }
+        return error;
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(TIMER_NAME)
+                .description("CEP lookups, including the ones answered from cache")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.muller.cepapp.integration;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+final class ViaCEPFutures {
+
+    private ViaCEPFutures() {
+    }
+
+    /**
+     * Waits for the lookup and rethrows its original exception instead of a CompletionException.
+     */
+    static ViaCEPResponse join(CompletableFuture<ViaCEPResponse> lookup) {
+        try {
+            return lookup.join();
+        } catch (CompletionException e) {
+            throw rethrowable(e);
+        }
+    }
+
+    static Throwable unwrap(Throwable failure) {
+        Throwable cause = failure;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    static RuntimeException rethrowable(Throwable failure) {
+        Throwable cause = unwrap(failure);
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new CompletionException(cause);
+    }
+
+}
@@ -27,6 +27,9 @@ public class ViaCEPResponse {
     @JsonProperty("uf")
     private String state;
 
+    @JsonProperty("erro")
+    private Boolean error;
+
     public String getZipCode() {
         return zipCode;
     }
@@ -83,4 +86,12 @@ public class ViaCEPResponse {
         this.state = state;
     }
 
+    public Boolean getError() {
+        return error;
+    }
+
+    public void setError(Boolean error) {
+        this.error = error;
+    }
+
 }
@@ -3,5 +3,5 @@ package com.muller.cepapp.integration;
 public interface ViaCEPService {
 
     ViaCEPResponse getAddressByZipCode(String zipCode);
-    
+
 }
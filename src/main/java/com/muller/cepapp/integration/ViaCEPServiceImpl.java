@@ -1,35 +1,108 @@
 package com.muller.cepapp.integration;
 
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.ResourceAccessException;
-import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.muller.cepapp.exception.InvalidZipCodeException;
 import com.muller.cepapp.exception.ViaCEPException;
 
 @Service
 public class ViaCEPServiceImpl implements ViaCEPService {
 
-    private final RestTemplate restTemplate;
-    private static final String VIA_CEP_URL = "https://viacep.com.br/ws/{cep}/json/";
+    public static final String ZIP_CODE_NOT_FOUND_MESSAGE = "CEP '%s' not found.";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String url;
+    private final Duration readTimeout;
+    private final Duration totalTimeout;
 
     @Autowired
-    public ViaCEPServiceImpl(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    public ViaCEPServiceImpl(@Qualifier("viaCEPHttpClient") HttpClient httpClient, ObjectMapper objectMapper,
+            @Value("${viacep.url}") String url,
+            @Value("${viacep.http.read-timeout}") Duration readTimeout,
+            @Value("${viacep.http.total-timeout}") Duration totalTimeout) {
+        this.httpClient   = httpClient;
+        this.objectMapper = objectMapper;
+        this.url          = url;
+        this.readTimeout  = readTimeout;
+        this.totalTimeout = totalTimeout;
     }
 
+    /**
+     * Sent with {@code sendAsync} only to bound the whole exchange by {@code totalTimeout}; the caller waits for it.
+     */
     @Override
     public ViaCEPResponse getAddressByZipCode(String zipCode) {
+        String cep = ZipCodes.normalize(zipCode);
+        if (cep.length() != 8) {
+            // ViaCEP would answer 400, no need to ask
+            throw new InvalidZipCodeException(String.format(ZIP_CODE_NOT_FOUND_MESSAGE, zipCode));
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url.replace("{cep}", cep)))
+                .timeout(readTimeout)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .GET()
+                .build();
+
+        return ViaCEPFutures.join(httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .orTimeout(totalTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((response, failure) -> {
+                    if (failure != null) {
+                        throw translate(ViaCEPFutures.unwrap(failure));
+                    }
+                    return toViaCEPResponse(response, cep);
+                }));
+    }
+
+    private ViaCEPResponse toViaCEPResponse(HttpResponse<byte[]> response, String zipCode) {
+        int status = response.statusCode();
+        if (status == HttpStatus.BAD_REQUEST.value() || status == HttpStatus.NOT_FOUND.value()) {
+            throw new InvalidZipCodeException(String.format(ZIP_CODE_NOT_FOUND_MESSAGE, zipCode));
+        }
+        if (status >= 400) {
+            throw new ViaCEPException("Error fetching address from ViaCEP: HTTP " + status);
+        }
+
+        ViaCEPResponse viaCEPResponse;
         try {
-            ResponseEntity<ViaCEPResponse> response = restTemplate.getForEntity(VIA_CEP_URL, ViaCEPResponse.class, zipCode);
-            return response.getBody();
-        } catch (HttpClientErrorException e) {
-            throw new ViaCEPException("Error fetching address from ViaCEP: " + e.getMessage(), e);
-        } catch (ResourceAccessException e) {
-             throw new ViaCEPException("Error connecting to ViaCEP: " + e.getMessage(), e);
+            viaCEPResponse = objectMapper.readValue(response.body(), ViaCEPResponse.class);
+        } catch (IOException e) {
+            throw new ViaCEPException("Invalid response from ViaCEP: " + e.getMessage(), e);
+        }
+
+        // ViaCEP answers unknown CEPs with 200 and {"erro": true}
+        if (viaCEPResponse == null || Boolean.TRUE.equals(viaCEPResponse.getError())) {
+            throw new InvalidZipCodeException(String.format(ZIP_CODE_NOT_FOUND_MESSAGE, zipCode));
         }
+
+        return viaCEPResponse;
     }
-    
+
+    private static RuntimeException translate(Throwable failure) {
+        if (failure instanceof TimeoutException) {
+            return new ViaCEPException("Error connecting to ViaCEP: timed out", failure);
+        }
+        if (failure instanceof IOException) {
+            return new ViaCEPException("Error connecting to ViaCEP: " + failure.getMessage(), failure);
+        }
+        return ViaCEPFutures.rethrowable(failure);
+    }
+
 }
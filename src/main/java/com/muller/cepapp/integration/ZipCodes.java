@@ -0,0 +1,27 @@
+package com.muller.cepapp.integration;
+
+public final class ZipCodes {
+
+    private ZipCodes() {
+    }
+
+    /**
+     * Strips everything but digits, so "01001-000" and "01001000" share the same key.
+     */
+    public static String normalize(String zipCode) {
+        if (zipCode == null) {
+            return "";
+        }
+
+        StringBuilder digits = new StringBuilder(8);
+        for (int i = 0; i < zipCode.length(); i++) {
+            char c = zipCode.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+
+        return digits.toString();
+    }
+
+}
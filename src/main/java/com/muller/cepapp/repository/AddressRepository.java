@@ -1,20 +1,72 @@
 package com.muller.cepapp.repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.muller.cepapp.dto.AddressResponse;
 import com.muller.cepapp.entity.Address;
 import com.muller.cepapp.entity.User;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface AddressRepository extends JpaRepository<Address, Long> {
 
+    String SELECT_ADDRESS_RESPONSE = "select new com.muller.cepapp.dto.AddressResponse(a.id, a.street, a.number, a.complement, "
+            + "a.neighborhood, a.city, a.state, a.zipCode, a.user.id, a.version) from Address a ";
+
     List<Address> findByUser(User user);
 
     Page<Address> findByUser(User user, Pageable pageable);
+
+    /**
+     * Just the version, enough to answer a conditional GET without reading the row.
+     */
+    @Query("select a.version from Address a where a.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query(SELECT_ADDRESS_RESPONSE + "where a.id = :id")
+    Optional<AddressResponse> findResponseById(@Param("id") Long id);
+
+    @Query(SELECT_ADDRESS_RESPONSE + "order by a.id")
+    List<AddressResponse> findAllResponses();
+
+    /**
+     * Forward-only cursor over every address, fetched {@code 500} rows at a time. Rows are projected straight into
+     * {@link AddressResponse}, so nothing accumulates in the persistence context. Must be consumed and closed inside
+     * a transaction, otherwise the PostgreSQL driver ignores the fetch size and buffers the whole result.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_ADDRESS_RESPONSE + "order by a.id")
+    Stream<AddressResponse> streamAll();
+
+    @Query(SELECT_ADDRESS_RESPONSE + "order by a.id")
+    Slice<AddressResponse> findFirstPage(Pageable pageable);
+
+    @Query(SELECT_ADDRESS_RESPONSE + "where a.id > :id order by a.id")
+    Slice<AddressResponse> findPageAfter(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Addresses of one user by foreign key, without loading the user, served by the {@code idx_addresses_user_id_id} index.
+     */
+    @Query(SELECT_ADDRESS_RESPONSE + "where a.user.id = :userId order by a.id")
+    Slice<AddressResponse> findFirstPageByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(SELECT_ADDRESS_RESPONSE + "where a.user.id = :userId and a.id > :id order by a.id")
+    Slice<AddressResponse> findPageByUserIdAfter(@Param("userId") Long userId, @Param("id") Long id, Pageable pageable);
     
 }
@@ -0,0 +1,11 @@
+package com.muller.cepapp.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.muller.cepapp.entity.CepDirectoryEntry;
+
+@Repository
+public interface CepDirectoryRepository extends JpaRepository<CepDirectoryEntry, String> {
+
+}
@@ -3,21 +3,67 @@ package com.muller.cepapp.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.muller.cepapp.dto.UserResponse;
 import com.muller.cepapp.entity.User;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    String SELECT_USER_RESPONSE = "select new com.muller.cepapp.dto.UserResponse(u.id, u.name, u.email, u.role, u.createdAt, u.version) from User u ";
+
+    String BY_EMAIL_CACHE_REGION = "users.byEmail";
+
+    /**
+     * Query cached: a hit resolves the id from {@code users.byEmail} and the user from the entity region. Any write
+     * to {@code users} invalidates every cached result.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = BY_EMAIL_CACHE_REGION)
+    })
     Optional<User> findByEmail(String email);
 
+    boolean existsByEmail(String email);
+
+    /**
+     * Just the version, enough to answer a conditional GET without reading the row.
+     */
+    @Query("select u.version from User u where u.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query(SELECT_USER_RESPONSE + "where u.id = :id")
+    Optional<UserResponse> findResponseById(@Param("id") Long id);
+
+    @Query(SELECT_USER_RESPONSE + "where u.email = :email")
+    Optional<UserResponse> findResponseByEmail(@Param("email") String email);
+
+    @Query(value = SELECT_USER_RESPONSE, countQuery = "select count(u) from User u")
+    Page<UserResponse> findAllResponses(Pageable pageable);
+
     Page<User> findAll(Pageable pageable);
 
     List<User> findAll(Sort sort);
+
+    @Query(SELECT_USER_RESPONSE + "order by u.name, u.id")
+    Slice<UserResponse> findFirstPageByName(Pageable pageable);
+
+    /**
+     * Next keyset page after ({@code name}, {@code id}), served by the {@code idx_users_name_id} index.
+     */
+    @Query(SELECT_USER_RESPONSE + "where (u.name, u.id) > (:name, :id) order by u.name, u.id")
+    Slice<UserResponse> findPageByNameAfter(@Param("name") String name, @Param("id") Long id, Pageable pageable);
     
 }
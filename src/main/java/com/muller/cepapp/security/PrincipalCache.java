@@ -0,0 +1,68 @@
+package com.muller.cepapp.security;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Principals of authenticated requests, keyed by token subject (email), so a valid JWT costs no database round trip.
+ * Entries are stored without the password hash and are never used to check passwords. {@code UserService} evicts an
+ * email whenever its user is created, updated or deleted; the TTL bounds staleness for changes made on other nodes.
+ * Hit rates are published as the {@code security.principals} cache metrics.
+ */
+@Component
+public class PrincipalCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "security.principals";
+
+    private final UserDetailsService userDetailsService;
+    private final Cache<String, UserDetails> cache;
+
+    @Autowired
+    public PrincipalCache(UserDetailsService userDetailsService,
+            @Value("${security.principal-cache.maximum-size}") long maximumSize,
+            @Value("${security.principal-cache.ttl}") Duration ttl) {
+        this.userDetailsService = userDetailsService;
+        this.cache              = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public UserDetails get(String email) {
+        return cache.get(email, this::load);
+    }
+
+    public void invalidate(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    private UserDetails load(String email) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+        if (userDetails instanceof CredentialsContainer credentials) {
+            credentials.eraseCredentials();
+        }
+        return userDetails;
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.muller.cepapp.security;
+
+import java.util.Set;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times hashing as {@code security.password.encode} and verification as {@code security.password.matches}, tagged by
+ * the algorithm of the hash and, for verification, whether the password matched. Registering the timer on every
+ * call is negligible next to the hash itself.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    public static final String ENCODE_TIMER_NAME  = "security.password.encode";
+    public static final String MATCHES_TIMER_NAME = "security.password.matches";
+
+    private final PasswordEncoder delegate;
+    private final String encodingId;
+    private final String defaultIdForMatches;
+    private final Set<String> knownIds;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param encodingId          algorithm of new hashes
+     * @param defaultIdForMatches algorithm assumed for hashes without an {@code {id}} prefix
+     * @param knownIds            algorithms used as tags as is; any other prefix is tagged {@code other}
+     */
+    public TimedPasswordEncoder(PasswordEncoder delegate, String encodingId, String defaultIdForMatches, Set<String> knownIds,
+            MeterRegistry meterRegistry) {
+        this.delegate            = delegate;
+        this.encodingId          = encodingId;
+        this.defaultIdForMatches = defaultIdForMatches;
+        this.knownIds            = knownIds;
+        this.meterRegistry       = meterRegistry;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String encoded = delegate.encode(rawPassword);
+        sample.stop(Timer.builder(ENCODE_TIMER_NAME)
+                .description("Password hashing")
+                .tag("algorithm", encodingId)
+                .register(meterRegistry));
+        return encoded;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+        sample.stop(Timer.builder(MATCHES_TIMER_NAME)
+                .description("Password verification")
+                .tag("algorithm", algorithm(encodedPassword))
+                .tag("outcome", matches ? "match" : "mismatch")
+                .register(meterRegistry));
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private String algorithm(String encodedPassword) {
+        if (encodedPassword == null || !encodedPassword.startsWith("{")) {
+            return defaultIdForMatches;
+        }
+
+        int end = encodedPassword.indexOf('}');
+        String id = end > 0 ? encodedPassword.substring(1, end) : null;
+        return knownIds.contains(id) ? id : "other";
+    }
+
+}
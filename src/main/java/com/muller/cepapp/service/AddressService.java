@@ -1,36 +1,90 @@
 package com.muller.cepapp.service;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.hibernate.JDBCException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.muller.cepapp.dto.AddressBatchItemResult;
+import com.muller.cepapp.dto.AddressBatchResult;
+import com.muller.cepapp.dto.AddressResponse;
+import com.muller.cepapp.dto.CursorPage;
 import com.muller.cepapp.entity.Address;
 import com.muller.cepapp.entity.User;
+import com.muller.cepapp.exception.AddressBatchTooLargeException;
 import com.muller.cepapp.exception.AddressNotFoundException;
 import com.muller.cepapp.exception.InvalidZipCodeException;
+import com.muller.cepapp.exception.PreconditionFailedException;
 import com.muller.cepapp.exception.UserNotFoundException;
+import com.muller.cepapp.exception.ViaCEPException;
+import com.muller.cepapp.exception.ViaCEPUnavailableException;
 import com.muller.cepapp.integration.ViaCEPResponse;
 import com.muller.cepapp.integration.ViaCEPService;
+import com.muller.cepapp.integration.ZipCodes;
 import com.muller.cepapp.repository.AddressRepository;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+
 @Service
 public class AddressService {
 
     public static final String ADDRESS_NOT_FOUND_MESSAGE = "Address with ID '%s' not found.";
+    public static final String BATCH_TOO_LARGE_MESSAGE   = "A batch cannot have more than %d addresses.";
+    public static final String ADDRESS_CHANGED_MESSAGE   = "Address with ID '%s' has changed.";
+
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
 
     private final AddressRepository addressRepository;
     private final ViaCEPService viaCEPService;
     private final UserService userService;
+    private final Validator validator;
+    private final ExecutorService addressBatchExecutor;
+    private final int batchMaxSize;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
-    public AddressService(AddressRepository addressRepository, ViaCEPService viaCEPService, UserService userService) {
-        this.addressRepository = addressRepository;
-        this.viaCEPService     = viaCEPService;
-        this.userService       = userService;
+    public AddressService(AddressRepository addressRepository, ViaCEPService viaCEPService, UserService userService, Validator validator,
+            @Qualifier("addressBatchExecutor") ExecutorService addressBatchExecutor,
+            @Value("${addresses.batch.max-size}") int batchMaxSize,
+            PlatformTransactionManager transactionManager) {
+        this.addressRepository    = addressRepository;
+        this.viaCEPService        = viaCEPService;
+        this.userService          = userService;
+        this.validator            = validator;
+        this.addressBatchExecutor = addressBatchExecutor;
+        this.batchMaxSize         = batchMaxSize;
+        this.transactionTemplate  = new TransactionTemplate(transactionManager);
     }
 
+    /**
+     * The owner is attached as a reference, not loaded: an unknown user id surfaces as a foreign key violation on
+     * the insert, flushed here so it can be reported as {@link UserNotFoundException}.
+     */
     public Address createAddress(Address address, Long userId) {
         String zipCode = address.getZipCode();
 
@@ -40,63 +94,259 @@ public class AddressService {
 
         ViaCEPResponse viaCEPResponse = viaCEPService.getAddressByZipCode(zipCode);
 
-        address.setStreet(viaCEPResponse.getStreet());
-        String number = viaCEPResponse.getNumber();
-        address.setNumber((number == null || number.isEmpty()) ? "-1" : number);
-        address.setComplement(viaCEPResponse.getComplement());
-        address.setNeighborhood(viaCEPResponse.getNeighborhood());
-        address.setCity(viaCEPResponse.getCity());
-        address.setState(viaCEPResponse.getState());
-        address.setZipCode(viaCEPResponse.getZipCode().replace("-", ""));
+        fillFromViaCEP(address, viaCEPResponse);
+        address.setUser(userService.getUserReference(userId));
+
+        try {
+            return addressRepository.saveAndFlush(address);
+        } catch (DataIntegrityViolationException e) {
+            if (isForeignKeyViolation(e)) {
+                throw new UserNotFoundException(String.format("User ID '%s' not found", userId.toString()), e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Creates every valid address of the batch for the given user and reports the outcome of each element.
+     * Each distinct CEP is looked up once, in parallel on the bounded {@code addressBatchExecutor}; the rows are
+     * then inserted in a single transaction, so no database connection is held while waiting on ViaCEP.
+     */
+    public AddressBatchResult createAddresses(List<Address> addresses, Long userId) {
+        if (addresses.size() > batchMaxSize) {
+            throw new AddressBatchTooLargeException(String.format(BATCH_TOO_LARGE_MESSAGE, batchMaxSize));
+        }
+
+        User user = userService.getUserById(userId)
+                .orElseThrow(() -> new UserNotFoundException(String.format("User ID '%s' not found", userId.toString())));
+
+        Map<String, CompletableFuture<ViaCEPResponse>> lookups = new HashMap<>();
+        for (Address address : addresses) {
+            String zipCode = batchZipCode(address);
+            if (!zipCode.isEmpty()) {
+                lookups.computeIfAbsent(zipCode, cep -> CompletableFuture.supplyAsync(() -> viaCEPService.getAddressByZipCode(cep), addressBatchExecutor));
+            }
+        }
+
+        AddressBatchItemResult[] results = new AddressBatchItemResult[addresses.size()];
+        List<Address> toSave = new ArrayList<>();
+        List<Integer> toSaveIndexes = new ArrayList<>();
+
+        for (int i = 0; i < addresses.size(); i++) {
+            Address address = addresses.get(i);
+            String zipCode = batchZipCode(address);
 
-        Optional<User> user = userService.getUserById(userId);
-        if(user.isPresent()) {
-            address.setUser(user.get());
-        }else {
-            throw new UserNotFoundException(String.format("User ID '%s' not found", userId.toString()));
+            if (zipCode.isEmpty()) {
+                results[i] = AddressBatchItemResult.failed(i, 400, "CEP is required");
+                continue;
+            }
+
+            ViaCEPResponse viaCEPResponse;
+            try {
+                viaCEPResponse = lookups.get(zipCode).join();
+            } catch (CompletionException e) {
+                results[i] = lookupFailed(i, e.getCause());
+                continue;
+            }
+
+            address.setId(null);
+            address.setVersion(null);
+            fillFromViaCEP(address, viaCEPResponse);
+            address.setUser(user);
+
+            Set<ConstraintViolation<Address>> violations = validator.validate(address);
+            if (!violations.isEmpty()) {
+                String message = violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", "));
+                results[i] = AddressBatchItemResult.failed(i, 400, message);
+                continue;
+            }
+
+            toSave.add(address);
+            toSaveIndexes.add(i);
+        }
+
+        List<Address> saved = addressRepository.saveAll(toSave);
+        for (int i = 0; i < saved.size(); i++) {
+            int index = toSaveIndexes.get(i);
+            results[index] = AddressBatchItemResult.created(index, AddressResponse.from(saved.get(i)));
         }
 
-        return addressRepository.save(address);
+        return AddressBatchResult.of(Arrays.asList(results));
+    }
+
+    public int getBatchMaxSize() {
+        return batchMaxSize;
     }
 
+    /**
+     * Read through the second-level cache; the owner stays lazy and is resolved from the cache too when read.
+     */
     public Optional<Address> getAddressById(Long id) {
         return addressRepository.findById(id);
     }
 
-    public List<Address> getAllAddresses() {
-        return addressRepository.findAll();
+    public Optional<Long> getAddressVersion(Long id) {
+        return addressRepository.findVersionById(id);
     }
 
-    public Address updateAddress(Long id, Address updatedAddress) {
-        Optional<Address> existingAddressOptional = addressRepository.findById(id);
+    public Optional<AddressResponse> getAddressResponseById(Long id) {
+        return addressRepository.findResponseById(id);
+    }
+
+    public List<AddressResponse> getAllAddresses() {
+        return addressRepository.findAllResponses();
+    }
 
-        if (existingAddressOptional.isPresent()) {
-            String zipCode = updatedAddress.getZipCode();
+    /**
+     * Keyset page of addresses ordered by id, starting after {@code cursor} (first page if empty).
+     */
+    public CursorPage<AddressResponse> getAllAddresses(String cursor, int size) {
+        Pageable limit = KeysetCursor.limit(size);
+
+        Slice<AddressResponse> addresses;
+        if (KeysetCursor.isFirstPage(cursor)) {
+            addresses = addressRepository.findFirstPage(limit);
+        } else {
+            String[] keys = KeysetCursor.decode(cursor, 1);
+            addresses = addressRepository.findPageAfter(KeysetCursor.decodeId(cursor, keys[0]), limit);
+        }
+
+        return toCursorPage(addresses);
+    }
+
+    /**
+     * Keyset page of the addresses of one user ordered by id, starting after {@code cursor} (first page if empty).
+     * An unknown user simply has no addresses.
+     */
+    public CursorPage<AddressResponse> getAddressesByUserId(Long userId, String cursor, int size) {
+        Pageable limit = KeysetCursor.limit(size);
+
+        Slice<AddressResponse> addresses;
+        if (KeysetCursor.isFirstPage(cursor)) {
+            addresses = addressRepository.findFirstPageByUserId(userId, limit);
+        } else {
+            String[] keys = KeysetCursor.decode(cursor, 1);
+            addresses = addressRepository.findPageByUserIdAfter(userId, KeysetCursor.decodeId(cursor, keys[0]), limit);
+        }
+
+        return toCursorPage(addresses);
+    }
+
+    /**
+     * Hands every address to {@code consumer} in id order, one row at a time, so memory use does not depend on
+     * the size of the table.
+     */
+    @Transactional(readOnly = true)
+    public void exportAddresses(Consumer<AddressResponse> consumer) {
+        try (Stream<AddressResponse> addresses = addressRepository.streamAll()) {
+            addresses.forEach(consumer);
+        }
+    }
+
+    public AddressResponse updateAddress(Long id, Address updatedAddress) {
+        return updateAddress(id, updatedAddress, current -> true);
+    }
+
+    /**
+     * Re-fills the address from ViaCEP, unless the submitted CEP normalizes to the stored one: then neither ViaCEP
+     * nor the database is written to. With {@code @DynamicUpdate}, an actual change updates only the columns that
+     * differ. {@code precondition} sees the stored state first and fails the update with
+     * {@link PreconditionFailedException} when it returns false.
+     * <p>
+     * ViaCEP is called between two transactions, so no connection is held while waiting on it. The first one only
+     * decides whether the CEP changed; the second reads the address again (from the second-level cache when enabled),
+     * re-checks the precondition and writes it, so the check and the write see the same state.
+     */
+    public AddressResponse updateAddress(Long id, Address updatedAddress, Predicate<AddressResponse> precondition) {
+        String zipCode = updatedAddress.getZipCode();
+
+        AddressResponse unchanged = transactionTemplate.execute(status -> {
+            Address existingAddress = findForUpdate(id, precondition);
 
             if(zipCode == null || zipCode.isEmpty()) {
                 throw new InvalidZipCodeException("CEP is required");
             }
 
-            ViaCEPResponse viaCEPResponse = viaCEPService.getAddressByZipCode(zipCode);
+            return ZipCodes.normalize(zipCode).equals(existingAddress.getZipCode()) ? AddressResponse.from(existingAddress) : null;
+        });
+        if (unchanged != null) {
+            return unchanged;
+        }
 
-            Address existingAddress = existingAddressOptional.get();
-            existingAddress.setStreet(viaCEPResponse.getStreet());
-            String number = viaCEPResponse.getNumber();
-            existingAddress.setNumber((number == null || number.isEmpty()) ? "-1" : number);
-            existingAddress.setComplement(viaCEPResponse.getComplement());
-            existingAddress.setNeighborhood(viaCEPResponse.getNeighborhood());
-            existingAddress.setCity(viaCEPResponse.getCity());
-            existingAddress.setState(viaCEPResponse.getState());
-            existingAddress.setZipCode(viaCEPResponse.getZipCode());
+        ViaCEPResponse viaCEPResponse = viaCEPService.getAddressByZipCode(zipCode);
 
-            return addressRepository.save(existingAddress);
-        }
-        
-        throw new AddressNotFoundException(String.format(ADDRESS_NOT_FOUND_MESSAGE, id.toString()));
+        return transactionTemplate.execute(status -> {
+            Address existingAddress = findForUpdate(id, precondition);
+
+            fillFromViaCEP(existingAddress, viaCEPResponse);
+
+            Set<ConstraintViolation<Address>> violations = validator.validate(existingAddress);
+            if (!violations.isEmpty()) {
+                throw new ConstraintViolationException(violations);
+            }
+
+            // Flushed here so the response carries the incremented version
+            return AddressResponse.from(addressRepository.saveAndFlush(existingAddress));
+        });
     }
 
     public void deleteAddress(Long id) {
         addressRepository.deleteById(id);
     }
+
+    private Address findForUpdate(Long id, Predicate<AddressResponse> precondition) {
+        Address existingAddress = addressRepository.findById(id)
+                .orElseThrow(() -> new AddressNotFoundException(String.format(ADDRESS_NOT_FOUND_MESSAGE, id.toString())));
+
+        if (!precondition.test(AddressResponse.from(existingAddress))) {
+            throw new PreconditionFailedException(String.format(ADDRESS_CHANGED_MESSAGE, id.toString()));
+        }
+        return existingAddress;
+    }
+
+    private void fillFromViaCEP(Address address, ViaCEPResponse viaCEPResponse) {
+        address.setStreet(viaCEPResponse.getStreet());
+        String number = viaCEPResponse.getNumber();
+        address.setNumber((number == null || number.isEmpty()) ? "-1" : number);
+        address.setComplement(viaCEPResponse.getComplement());
+        address.setNeighborhood(viaCEPResponse.getNeighborhood());
+        address.setCity(viaCEPResponse.getCity());
+        address.setState(viaCEPResponse.getState());
+        address.setZipCode(viaCEPResponse.getZipCode().replace("-", ""));
+    }
+
+    private static CursorPage<AddressResponse> toCursorPage(Slice<AddressResponse> addresses) {
+        String nextCursor = null;
+        if (addresses.hasNext()) {
+            nextCursor = KeysetCursor.encode(addresses.getContent().get(addresses.getNumberOfElements() - 1).id());
+        }
+        return new CursorPage<>(addresses.getContent(), addresses.getNumberOfElements(), nextCursor);
+    }
+
+    private static String batchZipCode(Address address) {
+        return address == null ? "" : ZipCodes.normalize(address.getZipCode());
+    }
+
+    private static AddressBatchItemResult lookupFailed(int index, Throwable cause) {
+        if (cause instanceof ViaCEPUnavailableException) {
+            return AddressBatchItemResult.failed(index, 503, cause.getMessage());
+        }
+        if (cause instanceof InvalidZipCodeException || cause instanceof ViaCEPException) {
+            return AddressBatchItemResult.failed(index, 400, cause.getMessage());
+        }
+        throw cause instanceof RuntimeException ? (RuntimeException) cause : new CompletionException(cause);
+    }
+
+    private static boolean isForeignKeyViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof JDBCException jdbcException && FOREIGN_KEY_VIOLATION.equals(jdbcException.getSQLState())) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException && FOREIGN_KEY_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
     
 }
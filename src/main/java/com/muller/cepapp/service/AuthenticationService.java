@@ -0,0 +1,82 @@
+package com.muller.cepapp.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import com.muller.cepapp.dto.RegisterRequest;
+import com.muller.cepapp.entity.User;
+import com.muller.cepapp.exception.EmailAlreadyRegisteredException;
+import com.muller.cepapp.exception.PasswordHashingBusyException;
+
+/**
+ * Login and registration, the two operations that hash a password. Both run on the bounded
+ * {@code passwordHashingExecutor} and fail with {@link PasswordHashingBusyException} when it is saturated.
+ */
+@Service
+public class AuthenticationService {
+
+    private static final String EMAIL_ALREADY_REGISTERED_MESSAGE = "Email is already registered";
+
+    private final AuthenticationManager authenticationManager;
+    private final JwtService jwtService;
+    private final UserService userService;
+    private final ExecutorService passwordHashingExecutor;
+
+    @Autowired
+    public AuthenticationService(AuthenticationManager authenticationManager, JwtService jwtService, UserService userService,
+            @Qualifier("passwordHashingExecutor") ExecutorService passwordHashingExecutor) {
+        this.authenticationManager   = authenticationManager;
+        this.jwtService              = jwtService;
+        this.userService             = userService;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+    }
+
+    /**
+     * Completes with a JWT for the user, or exceptionally with an {@code AuthenticationException}.
+     */
+    public CompletableFuture<String> login(String email, String password) {
+        return submit(() -> {
+            Authentication authentication = authenticationManager.authenticate(
+                    UsernamePasswordAuthenticationToken.unauthenticated(email, password));
+            return jwtService.generateToken((UserDetails) authentication.getPrincipal());
+        });
+    }
+
+    /**
+     * Taken emails are refused with {@link EmailAlreadyRegisteredException} before any hashing is queued; the unique
+     * constraint catches registrations of the same email racing each other.
+     */
+    public CompletableFuture<User> register(RegisterRequest request) {
+        if (userService.emailExists(request.email())) {
+            throw new EmailAlreadyRegisteredException(EMAIL_ALREADY_REGISTERED_MESSAGE);
+        }
+
+        return submit(() -> {
+            try {
+                return userService.createUser(request.toUser());
+            } catch (DataIntegrityViolationException e) {
+                throw new EmailAlreadyRegisteredException(EMAIL_ALREADY_REGISTERED_MESSAGE);
+            }
+        });
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, passwordHashingExecutor);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingBusyException("Too many login attempts in progress, try again later", e);
+        }
+    }
+
+}
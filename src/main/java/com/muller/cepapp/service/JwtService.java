@@ -1,65 +1,188 @@
 package com.muller.cepapp.service;
 
-import java.security.Key;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+import javax.crypto.SecretKey;
+
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
+/**
+ * Signing key and parser are built once; {@link #parseToken(String)} verifies a token in a single pass and the
+ * resulting claims are reused for every later check of the same request.
+ * <p>
+ * With {@code jwt.token-cache.enabled}, verified claims are also kept per token (keyed by its SHA-256, never the
+ * token itself) until the token expires, so clients reusing a token skip signature verification. Hit rates are
+ * published as the {@code jwt.tokens} cache metrics, and verifications that do run are timed as {@code jwt.verify}.
+ */
 @Service
-public class JwtService {
+public class JwtService implements MeterBinder {
+
+    private static final String TOKEN_CACHE_NAME = "jwt.tokens";
+
+    private static final String VERIFY_TIMER_NAME = "jwt.verify";
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long durationMillis;
+    private final Cache<String, Claims> tokenCache;
 
-    @Value("${jwt.duration}")
-    private String duration;
+    // Set once bound to a registry; instances built outside the context are not timed
+    private volatile Timer validTokens;
+    private volatile Timer invalidTokens;
+
+    public JwtService(String secretKey, long durationMinutes) {
+        this(secretKey, durationMinutes, false, 0);
+    }
+
+    @Autowired
+    public JwtService(@Value("${jwt.secret}") String secretKey, @Value("${jwt.duration}") long durationMinutes,
+            @Value("${jwt.token-cache.enabled}") boolean tokenCacheEnabled,
+            @Value("${jwt.token-cache.maximum-size}") long tokenCacheMaximumSize) {
+        this.signingKey     = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser         = Jwts.parser().verifyWith(signingKey).build();
+        this.durationMillis = 1000 * 60 * durationMinutes;
+        this.tokenCache     = tokenCacheEnabled ? Caffeine.newBuilder()
+                .maximumSize(tokenCacheMaximumSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build() : null;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        validTokens   = verifyTimer(registry, "valid");
+        invalidTokens = verifyTimer(registry, "invalid");
+
+        if (tokenCache != null) {
+            CaffeineCacheMetrics.monitor(registry, tokenCache, TOKEN_CACHE_NAME);
+        }
+    }
 
     public String generateToken(UserDetails userDetails) {
         return Jwts.builder()
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + 1000 * 60 * Long.parseLong(duration)))
-                .signWith(getSigningKey())
+                .expiration(new Date(System.currentTimeMillis() + durationMillis))
+                .signWith(signingKey)
                 .compact();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    /**
+     * Verifies the signature and expiration of {@code token} and returns its claims, or empty if it is not valid
+     * or has no subject.
+     */
+    public Optional<Claims> parseToken(String token) {
+        if (tokenCache == null) {
+            return verify(token);
+        }
+
+        String key = digest(token);
+        Claims cached = tokenCache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<Claims> claims = verify(token);
+        claims.ifPresent(verified -> tokenCache.put(key, verified));
+        return claims;
+    }
+
+    private Optional<Claims> verify(String token) {
+        long start = System.nanoTime();
+        Optional<Claims> claims = parseSignedClaims(token);
+
+        Timer timer = claims.isPresent() ? validTokens : invalidTokens;
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return claims;
     }
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    private Optional<Claims> parseSignedClaims(String token) {
+        try {
+            return Optional.of(parser.parseSignedClaims(token).getPayload()).filter(claims -> claims.getSubject() != null);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims);
+    }
+
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        return parseToken(token).map(claims -> isTokenValid(claims, userDetails)).orElse(false);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private boolean isTokenExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration == null || expiration.before(new Date());
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractClaim(token, Claims::getExpiration).before(new Date());
+    private static Timer verifyTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder(VERIFY_TIMER_NAME)
+                .description("JWT signature and expiration checks")
+                .tag("outcome", outcome)
+                .register(registry);
     }
 
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Cached claims live exactly as long as their token; tokens without expiration are not worth caching.
+     */
+    private static class TokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0;
+            }
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiration.getTime() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
     }
     
 }
@@ -0,0 +1,65 @@
+package com.muller.cepapp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import com.muller.cepapp.exception.InvalidCursorException;
+
+/**
+ * Opaque cursor holding the sort key values of the last row of a page, URL-safe Base64 encoded.
+ */
+public final class KeysetCursor {
+
+    public static final String INVALID_CURSOR_MESSAGE = "Invalid cursor '%s'.";
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String SEPARATOR = "\u0000";
+
+    private KeysetCursor() {
+    }
+
+    public static boolean isFirstPage(String cursor) {
+        return cursor == null || cursor.isEmpty();
+    }
+
+    /**
+     * Unsorted first-page request of at most {@link #MAX_PAGE_SIZE} rows, the queries carry their own order by.
+     */
+    public static Pageable limit(int size) {
+        return PageRequest.ofSize(Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+    }
+
+    public static String encode(Object... keys) {
+        String[] values = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = String.valueOf(keys[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.join(SEPARATOR, values).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int keyCount) {
+        String[] keys;
+        try {
+            keys = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, -1);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(String.format(INVALID_CURSOR_MESSAGE, cursor), e);
+        }
+
+        if (keys.length != keyCount) {
+            throw new InvalidCursorException(String.format(INVALID_CURSOR_MESSAGE, cursor));
+        }
+        return keys;
+    }
+
+    public static Long decodeId(String cursor, String key) {
+        try {
+            return Long.valueOf(key);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException(String.format(INVALID_CURSOR_MESSAGE, cursor), e);
+        }
+    }
+
+}
@@ -8,23 +8,39 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.muller.cepapp.entity.User;
 import com.muller.cepapp.repository.UserRepository;
 import com.muller.cepapp.security.UserSecurityDetails;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     
+    public static final String LOAD_TIMER_NAME = "security.user.load";
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        Timer.Sample sample = Timer.start(meterRegistry);
         Optional<User> userOptional = userRepository.findByEmail(email);
+        sample.stop(Timer.builder(LOAD_TIMER_NAME)
+                .description("User lookups by email for authentication")
+                .tag("outcome", userOptional.isPresent() ? "found" : "not_found")
+                .register(meterRegistry));
+
         User user = userOptional.orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
         Set<GrantedAuthority> authorities = new HashSet<>();
@@ -34,5 +50,19 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
         return userSecurityDetails;
     }
+
+    /**
+     * Called by the authentication manager after a successful login whose stored hash uses an outdated encoder
+     * or cost, with the password already rehashed by the current one.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+
+        return new UserSecurityDetails(user.getId(), user.getEmail(), newPassword, userDetails.getAuthorities());
+    }
     
 }
@@ -6,13 +6,17 @@ import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.muller.cepapp.dto.CursorPage;
+import com.muller.cepapp.dto.UserResponse;
 import com.muller.cepapp.entity.User;
 import com.muller.cepapp.exception.UserNotFoundException;
 import com.muller.cepapp.repository.UserRepository;
+import com.muller.cepapp.security.PrincipalCache;
 
 @Service
 public class UserService {
@@ -21,56 +25,112 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
 
     @Autowired
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, PrincipalCache principalCache) {
         this.userRepository  = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.principalCache  = principalCache;
     }
 
     public User createUser(User user) {
         user.setPassword(encryptPassword(user.getPassword()));
-        return userRepository.save(user);
+        User createdUser = userRepository.save(user);
+        principalCache.invalidate(createdUser.getEmail());
+        return createdUser;
+    }
+
+    public boolean emailExists(String email) {
+        return userRepository.existsByEmail(email);
     }
 
     public Optional<User> getUserById(Long id) {
         return userRepository.findById(id);
     }
 
+    /**
+     * Uninitialized proxy for attaching the user to another entity without a select; the id is not checked.
+     */
+    public User getUserReference(Long id) {
+        return userRepository.getReferenceById(id);
+    }
+
+    public Optional<Long> getUserVersion(Long id) {
+        return userRepository.findVersionById(id);
+    }
+
+    public Optional<UserResponse> getUserResponseById(Long id) {
+        return userRepository.findResponseById(id);
+    }
+
     public Optional<User> getUserByEmail(String email) {
         return userRepository.findByEmail(email);
     }
 
+    public Optional<UserResponse> getUserResponseByEmail(String email) {
+        return userRepository.findResponseByEmail(email);
+    }
+
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
-    public Page<User> getAllUsers(Pageable pageable) {
-        return userRepository.findAll(pageable);
+    public Page<UserResponse> getAllUsers(Pageable pageable) {
+        return userRepository.findAllResponses(pageable);
     }
 
     public List<User> getAllUsers(Sort sort) {
         return userRepository.findAll(sort);
     }
 
+    /**
+     * Keyset page of users ordered by name then id, starting after {@code cursor} (first page if empty).
+     */
+    public CursorPage<UserResponse> getAllUsers(String cursor, int size) {
+        Pageable limit = KeysetCursor.limit(size);
+
+        Slice<UserResponse> users;
+        if (KeysetCursor.isFirstPage(cursor)) {
+            users = userRepository.findFirstPageByName(limit);
+        } else {
+            String[] keys = KeysetCursor.decode(cursor, 2);
+            users = userRepository.findPageByNameAfter(keys[0], KeysetCursor.decodeId(cursor, keys[1]), limit);
+        }
+
+        String nextCursor = null;
+        if (users.hasNext()) {
+            UserResponse last = users.getContent().get(users.getNumberOfElements() - 1);
+            nextCursor = KeysetCursor.encode(last.name(), last.id());
+        }
+        return new CursorPage<>(users.getContent(), users.getNumberOfElements(), nextCursor);
+    }
+
     public User updateUser(Long id, User updatedUser) {
         Optional<User> existingUserOptional = userRepository.findById(id);
         if (existingUserOptional.isPresent()) {
             User existingUser = existingUserOptional.get();
+            String previousEmail = existingUser.getEmail();
             existingUser.setName(updatedUser.getName());
             existingUser.setEmail(updatedUser.getEmail());
             
             if (updatedUser.getPassword() != null && !updatedUser.getPassword().isEmpty()) {
                 existingUser.setPassword(encryptPassword(updatedUser.getPassword()));
             }           
-            return userRepository.save(existingUser);
+            User savedUser = userRepository.save(existingUser);
+            principalCache.invalidate(previousEmail);
+            principalCache.invalidate(savedUser.getEmail());
+            return savedUser;
         }
         
         throw new UserNotFoundException(String.format(USER_NOT_FOUND_MESSAGE, id.toString()));
     }
 
     public void deleteUser(Long id) {
-        userRepository.deleteById(id);
+        userRepository.findById(id).ifPresent(user -> {
+            userRepository.delete(user);
+            principalCache.invalidate(user.getEmail());
+        });
     }
 
     private String encryptPassword(String password) {
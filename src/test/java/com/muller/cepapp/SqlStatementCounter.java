@@ -0,0 +1,29 @@
+package com.muller.cepapp;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread. Enable it with
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector=com.muller.cepapp.SqlStatementCounter}.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    public static final String PROPERTY = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.muller.cepapp.SqlStatementCounter";
+
+    private static final ThreadLocal<Integer> COUNT = ThreadLocal.withInitial(() -> 0);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.set(COUNT.get() + 1);
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.set(0);
+    }
+
+    public static int count() {
+        return COUNT.get();
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.muller.cepapp.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SlidingWindowLimiterTests {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final SlidingWindowLimiter limiter = new SlidingWindowLimiter(4, Duration.ofMinutes(1), 100, nanos::get);
+
+    @Test
+    @DisplayName("Should count down the remaining budget and reject past the limit")
+    void shouldRejectPastLimit() {
+        for (int remaining = 3; remaining >= 0; remaining--) {
+            SlidingWindowLimiter.Decision decision = limiter.tryAcquire("key");
+            assertTrue(decision.allowed());
+            assertEquals(remaining, decision.remaining());
+        }
+
+        SlidingWindowLimiter.Decision rejected = limiter.tryAcquire("key");
+        assertFalse(rejected.allowed());
+        assertEquals(0, rejected.remaining());
+        assertEquals(TimeUnit.SECONDS.toNanos(75), rejected.waitNanos());
+    }
+
+    @Test
+    @DisplayName("Should weight the previous window by how much of it still overlaps")
+    void shouldSlideThePreviousWindow() {
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire("key");
+        }
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        assertFalse(limiter.tryAcquire("key").allowed());
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(15));
+        SlidingWindowLimiter.Decision decision = limiter.tryAcquire("key");
+        assertTrue(decision.allowed());
+        assertEquals(0, decision.remaining());
+        assertFalse(limiter.tryAcquire("key").allowed());
+    }
+
+    @Test
+    @DisplayName("Should forget windows older than the previous one")
+    void shouldResetAfterTwoWindows() {
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire("key");
+        }
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(120));
+        assertEquals(3, limiter.tryAcquire("key").remaining());
+    }
+
+    @Test
+    @DisplayName("Should give back released requests")
+    void shouldReleaseRequests() {
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire("key");
+        }
+
+        limiter.release("key");
+
+        SlidingWindowLimiter.Decision decision = limiter.tryAcquire("key");
+        assertTrue(decision.allowed());
+        assertEquals(0, decision.remaining());
+        assertFalse(limiter.tryAcquire("key").allowed());
+    }
+
+    @Test
+    @DisplayName("Should keep separate counters per key")
+    void shouldSeparateKeys() {
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire("first");
+        }
+
+        assertFalse(limiter.tryAcquire("first").allowed());
+        assertTrue(limiter.tryAcquire("second").allowed());
+    }
+
+}
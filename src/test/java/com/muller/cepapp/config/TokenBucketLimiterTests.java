@@ -0,0 +1,52 @@
+package com.muller.cepapp.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TokenBucketLimiterTests {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final TokenBucketLimiter limiter = new TokenBucketLimiter(3, Duration.ofMinutes(1), 100, nanos::get);
+
+    @Test
+    @DisplayName("Should allow a burst up to the capacity and then report the wait for the next token")
+    void shouldLimitBurstToCapacity() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("key"));
+        }
+
+        assertEquals(TimeUnit.SECONDS.toNanos(20), limiter.tryAcquire("key"));
+    }
+
+    @Test
+    @DisplayName("Should refill tokens over time")
+    void shouldRefillOverTime() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("key");
+        }
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(20));
+        assertEquals(0, limiter.tryAcquire("key"));
+        assertTrue(limiter.tryAcquire("key") > 0);
+    }
+
+    @Test
+    @DisplayName("Should keep a separate bucket per key")
+    void shouldSeparateKeys() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("first");
+        }
+
+        assertTrue(limiter.tryAcquire("first") > 0);
+        assertEquals(0, limiter.tryAcquire("second"));
+    }
+
+}
@@ -1,7 +1,11 @@
 package com.muller.cepapp.controller;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -22,10 +26,12 @@ import org.springframework.transaction.annotation.Transactional;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.muller.cepapp.TestData;
 import com.muller.cepapp.TestMethods;
+import com.muller.cepapp.config.ApiRateLimitFilter;
 import com.muller.cepapp.entity.Address;
 import com.muller.cepapp.entity.User;
 import com.muller.cepapp.service.AddressService;
 import com.muller.cepapp.service.JwtService;
+import com.muller.cepapp.service.KeysetCursor;
 import com.muller.cepapp.service.UserService;
 
 @SpringBootTest
@@ -77,6 +83,65 @@ public class AddressControllerTests {
                 .andExpect(jsonPath("$[0].street").value(testAddress.getStreet()));
     }
 
+    @Test
+    @DisplayName("Should get addresses by keyset page")
+    void shouldGetAddressesByKeysetPage() throws Exception {
+        Address secondAddress = addressService.createAddress(new Address(TestData.STREET, TestData.NUMBER, TestData.COMPLEMENT, TestData.NEIGHBORHOOD, TestData.CITY, TestData.STATE, TestData.ZIP_CODE, testUser), testUser.getId());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/addresses")
+                .param("cursor", KeysetCursor.encode(testAddress.getId()))
+                .param("size", "1")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id").value(secondAddress.getId()))
+                .andExpect(jsonPath("$.content[0].userId").value(testUser.getId()));
+    }
+
+    @Test
+    @DisplayName("Should return BAD REQUEST for an invalid cursor")
+    void shouldReturnBadRequestForInvalidCursor() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/addresses")
+                .param("cursor", "%%%")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should export all addresses as NDJSON")
+    void shouldExportAddressesAsNdjson() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/addresses/export")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(AddressController.APPLICATION_NDJSON_VALUE))
+                .andExpect(content().string(containsString("\"id\":" + testAddress.getId() + ",")))
+                .andExpect(content().string(containsString("\"userId\":" + testUser.getId())))
+                .andExpect(content().string(not(containsString("\n {"))))
+                .andExpect(content().string(endsWith("}\n")));
+    }
+
+    @Test
+    @DisplayName("Should export all addresses as CSV")
+    void shouldExportAddressesAsCsv() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/addresses/export")
+                .param("format", "csv")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(content().string(containsString("id,street,number,complement,neighborhood,city,state,zipCode,userId\n")))
+                .andExpect(content().string(containsString(testAddress.getId() + "," + testAddress.getStreet() + ",")));
+    }
+
+    @Test
+    @DisplayName("Regular user should NOT be able to export addresses")
+    void regularUserShouldNotBeAbleToExportAddresses() throws Exception {
+        SimpleEntry<User, String> regularUserAndToken = TestMethods.createRegularUser(userService, userDetailsService, jwtService);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/addresses/export")
+                .header("Authorization", "Bearer " + regularUserAndToken.getValue()))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @DisplayName("Should get address by ID")
     void shouldGetAddressById() throws Exception {
@@ -84,7 +149,9 @@ public class AddressControllerTests {
                 .header("Authorization", "Bearer " + jwtToken))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$.street").value(testAddress.getStreet()));
+                .andExpect(jsonPath("$.street").value(testAddress.getStreet()))
+                .andExpect(jsonPath("$.userId").value(testUser.getId()))
+                .andExpect(jsonPath("$.user").doesNotExist());
     }
 
     @Test
@@ -108,6 +175,76 @@ public class AddressControllerTests {
                 .andExpect(jsonPath("$.street").value("Praça da Sé"));
     }
 
+    @Test
+    @DisplayName("Should create a batch of addresses and report each item")
+    void shouldCreateAddressBatch() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/addresses/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"zipCode\":\"01001000\"},{\"zipCode\":\"01001-000\"},{\"zipCode\":\"\"}]")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.items[0].status").value(201))
+                .andExpect(jsonPath("$.items[1].address.street").value("Praça da Sé"))
+                .andExpect(jsonPath("$.items[2].status").value(400));
+    }
+
+    @Test
+    @DisplayName("Should reject a batch past the maximum size without reading the rest of the array")
+    void shouldRejectAddressBatchTooLarge() throws Exception {
+        String items = "{},".repeat(addressService.getBatchMaxSize() + 1);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/addresses/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + items + "not json")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    @Test
+    @DisplayName("Should return BAD REQUEST when the batch body is not an array")
+    void shouldReturnBadRequestForNonArrayBatch() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/addresses/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"zipCode\":\"01001000\"}")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should create a batch of addresses from NDJSON")
+    void shouldCreateAddressBatchFromNdjson() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/addresses/batch")
+                .contentType(AddressController.APPLICATION_NDJSON_VALUE)
+                .content("{\"zipCode\":\"01001000\"}\n{\"zipCode\":\"" + TestData.ZIP_CODE + "\"}\n")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.items", hasSize(2)));
+    }
+
+    @Test
+    @DisplayName("Should report the remaining batch budget and reject batches past it")
+    void shouldRateLimitAddressBatches() throws Exception {
+        for (int remaining = 4; remaining >= 0; remaining--) {
+            mockMvc.perform(MockMvcRequestBuilders.post("/addresses/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[]")
+                    .header("Authorization", "Bearer " + jwtToken))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(ApiRateLimitFilter.LIMIT_HEADER, "5"))
+                    .andExpect(header().string(ApiRateLimitFilter.REMAINING_HEADER, Integer.toString(remaining)));
+        }
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/addresses/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+    }
+
     @Test
     @DisplayName("Should update an existing address")
     void shouldUpdateAddress() throws Exception {
@@ -122,6 +259,81 @@ public class AddressControllerTests {
                 .andExpect(jsonPath("$.street").value("Praça da Sé"));
     }
 
+    @Test
+    @DisplayName("Should keep the stored address when the submitted CEP is unchanged")
+    void shouldKeepAddressWhenZipCodeIsUnchanged() throws Exception {
+        Address updatedAddress = new Address("Updated Street", "789", null, "Updated Neighborhood", "Updated City", "RJ", "70160-900", testUser);
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/addresses/" + testAddress.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedAddress))
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.street").value(testAddress.getStreet()))
+                .andExpect(jsonPath("$.zipCode").value(TestData.ZIP_CODE));
+    }
+
+    @Test
+    @DisplayName("Should return NOT MODIFIED when If-None-Match has the current ETag")
+    void shouldReturnNotModifiedForCurrentETag() throws Exception {
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/addresses/" + testAddress.getId())
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/addresses/" + testAddress.getId())
+                .header("If-None-Match", etag)
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("Should return the address when If-None-Match has a stale ETag")
+    void shouldReturnAddressForStaleETag() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/addresses/" + testAddress.getId())
+                .header("If-None-Match", "\"stale\"")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.zipCode").value(testAddress.getZipCode()));
+    }
+
+    @Test
+    @DisplayName("Should update an address when If-Match has its current ETag")
+    void shouldUpdateAddressMatchingETag() throws Exception {
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/addresses/" + testAddress.getId())
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        Address updatedAddress = new Address(null, null, null, null, null, null, "01001000", testUser);
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/addresses/" + testAddress.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedAddress))
+                .header("If-Match", etag)
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.street").value("Praça da Sé"))
+                .andExpect(header().exists("ETag"));
+    }
+
+    @Test
+    @DisplayName("Should return PRECONDITION FAILED when If-Match has a stale ETag")
+    void shouldRejectUpdateWithStaleETag() throws Exception {
+        Address updatedAddress = new Address(null, null, null, null, null, null, "01001000", testUser);
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/addresses/" + testAddress.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedAddress))
+                .header("If-Match", "\"stale\"")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     @DisplayName("Should return NOT FOUND when updating a non existent address")
     void shouldReturnNotFoundWhenUpdatingNonExistentAddress() throws Exception {
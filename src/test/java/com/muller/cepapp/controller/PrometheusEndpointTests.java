@@ -0,0 +1,89 @@
+package com.muller.cepapp.controller;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.AbstractMap.SimpleEntry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.muller.cepapp.TestData;
+import com.muller.cepapp.TestMethods;
+import com.muller.cepapp.entity.User;
+import com.muller.cepapp.service.JwtService;
+import com.muller.cepapp.service.UserService;
+
+/**
+ * Metrics export is off in tests unless requested, hence {@link AutoConfigureObservability}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Transactional
+public class PrometheusEndpointTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    private String jwtToken;
+
+    @BeforeEach
+    void setup() {
+        userService.createUser(new User(TestData.NAME, TestData.EMAIL, TestData.PASSWORD, User.Role.ROLE_ADMIN));
+
+        jwtToken = jwtService.generateToken(userDetailsService.loadUserByUsername(TestData.EMAIL));
+    }
+
+    @Test
+    @DisplayName("Should expose request histograms and pool gauges to admins")
+    void shouldExposePrometheusMetrics() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/health"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("jwt_verify_seconds")))
+                .andExpect(content().string(containsString("viacep_lookup_seconds")));
+    }
+
+    @Test
+    @DisplayName("Should NOT expose metrics without a token")
+    void shouldNotExposePrometheusMetricsAnonymously() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Regular user should NOT be able to scrape metrics")
+    void regularUserShouldNotScrapeMetrics() throws Exception {
+        SimpleEntry<User, String> regularUserAndToken = TestMethods.createRegularUser(userService, userDetailsService, jwtService);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus")
+                .header("Authorization", "Bearer " + regularUserAndToken.getValue()))
+                .andExpect(status().isForbidden());
+    }
+
+}
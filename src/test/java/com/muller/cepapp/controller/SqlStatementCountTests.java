@@ -0,0 +1,205 @@
+package com.muller.cepapp.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.muller.cepapp.SqlStatementCounter;
+import com.muller.cepapp.TestData;
+import com.muller.cepapp.entity.Address;
+import com.muller.cepapp.entity.User;
+import com.muller.cepapp.repository.AddressRepository;
+import com.muller.cepapp.repository.UserRepository;
+import com.muller.cepapp.service.AddressService;
+import com.muller.cepapp.service.JwtService;
+import com.muller.cepapp.service.UserService;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Pins the number of SQL statements each read endpoint issues, including the one the JWT filter uses to load the
+ * principal, so an N+1 or an extra round trip fails here instead of in production.
+ */
+@SpringBootTest(properties = SqlStatementCounter.PROPERTY)
+@AutoConfigureMockMvc
+@Transactional
+public class SqlStatementCountTests {
+
+    /**
+     * Principal lookup of the first request after the user is created, later ones hit the principal cache.
+     */
+    private static final int AUTHENTICATION = 1;
+
+    private static final String OTHER_ZIP_CODE = "01001000";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    private User testUser;
+
+    private Address testAddress;
+
+    private String jwtToken;
+
+    @BeforeEach
+    void setup() {
+        testUser = userService.createUser(new User(TestData.NAME, TestData.EMAIL, TestData.PASSWORD, User.Role.ROLE_ADMIN));
+        User otherUser = userRepository.save(new User("Other User", "other.user@example.com", TestData.PASSWORD, TestData.ROLE));
+
+        List<Address> addresses = addressRepository.saveAll(List.of(
+                new Address(TestData.STREET, "1", null, TestData.NEIGHBORHOOD, TestData.CITY, TestData.STATE, TestData.ZIP_CODE, testUser),
+                new Address(TestData.STREET, "2", null, TestData.NEIGHBORHOOD, TestData.CITY, TestData.STATE, TestData.ZIP_CODE, testUser),
+                new Address(TestData.STREET, "3", null, TestData.NEIGHBORHOOD, TestData.CITY, TestData.STATE, TestData.ZIP_CODE, otherUser)
+        ));
+        testAddress = addresses.get(0);
+
+        jwtToken = jwtService.generateToken(userDetailsService.loadUserByUsername(TestData.EMAIL));
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("GET /addresses should not load the owners")
+    void getAllAddresses() throws Exception {
+        assertStatements(AUTHENTICATION + 1, MockMvcRequestBuilders.get("/addresses"));
+    }
+
+    @Test
+    @DisplayName("GET /addresses with a cursor should run a single query")
+    void getAddressesByKeysetPage() throws Exception {
+        assertStatements(AUTHENTICATION + 1, MockMvcRequestBuilders.get("/addresses").param("cursor", ""));
+    }
+
+    @Test
+    @DisplayName("GET /addresses/{id} should run a single query")
+    void getAddressById() throws Exception {
+        assertStatements(AUTHENTICATION + 1, MockMvcRequestBuilders.get("/addresses/" + testAddress.getId()));
+    }
+
+    @Test
+    @DisplayName("GET /addresses/{id} with a current ETag should only read the version")
+    void getAddressByIdNotModified() throws Exception {
+        String etag = "\"" + addressService.getAddressVersion(testAddress.getId()).orElseThrow() + "\"";
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(MockMvcRequestBuilders.get("/addresses/" + testAddress.getId())
+                .header("If-None-Match", etag)
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isNotModified());
+        assertEquals(AUTHENTICATION + 1, SqlStatementCounter.count());
+    }
+
+    @Test
+    @DisplayName("GET /users should run the page and count queries only")
+    void getAllUsers() throws Exception {
+        assertStatements(AUTHENTICATION + 2, MockMvcRequestBuilders.get("/users").param("size", "1"));
+    }
+
+    @Test
+    @DisplayName("GET /users/{id} should run a single query")
+    void getUserById() throws Exception {
+        assertStatements(AUTHENTICATION + 1, MockMvcRequestBuilders.get("/users/" + testUser.getId()));
+    }
+
+    @Test
+    @DisplayName("GET /users/{id}/addresses should run a single query")
+    void getUserAddresses() throws Exception {
+        assertStatements(AUTHENTICATION + 1, MockMvcRequestBuilders.get("/users/" + testUser.getId() + "/addresses"));
+    }
+
+    @Test
+    @DisplayName("Repeated requests should authenticate from the principal cache")
+    void authenticateFromPrincipalCache() throws Exception {
+        assertStatements(AUTHENTICATION + 1, MockMvcRequestBuilders.get("/users/" + testUser.getId()));
+        assertStatements(1, MockMvcRequestBuilders.get("/users/" + testUser.getId()));
+    }
+
+    @Test
+    @DisplayName("Loading addresses as entities should not load their owners")
+    void findAllAddressesIsLazy() {
+        SqlStatementCounter.reset();
+        addressRepository.findAll();
+        assertEquals(1, SqlStatementCounter.count());
+    }
+
+    @Test
+    @DisplayName("Creating an address should insert it without loading the owner")
+    void createAddressWithOwnerReference() {
+        // Warms the CEP cache, so only the database work of the write is counted
+        addressService.createAddress(newAddress(), testUser.getId());
+
+        SqlStatementCounter.reset();
+        addressService.createAddress(newAddress(), testUser.getId());
+        assertEquals(1, SqlStatementCounter.count());
+    }
+
+    @Test
+    @DisplayName("Updating an address to the CEP it already has should only read it")
+    void updateAddressWithSameZipCode() {
+        SqlStatementCounter.reset();
+        addressService.updateAddress(testAddress.getId(), newAddress(TestData.ZIP_CODE));
+        entityManager.flush();
+        assertEquals(1, SqlStatementCounter.count());
+    }
+
+    @Test
+    @DisplayName("Updating an address to another CEP should read it and update it once")
+    void updateAddressWithNewZipCode() {
+        addressService.createAddress(newAddress(OTHER_ZIP_CODE), testUser.getId());
+
+        SqlStatementCounter.reset();
+        addressService.updateAddress(testAddress.getId(), newAddress(OTHER_ZIP_CODE));
+        assertEquals(2, SqlStatementCounter.count());
+    }
+
+    private static Address newAddress() {
+        return newAddress(TestData.ZIP_CODE);
+    }
+
+    private static Address newAddress(String zipCode) {
+        return new Address(null, null, null, null, null, null, zipCode, null);
+    }
+
+    private void assertStatements(int expected, MockHttpServletRequestBuilder request) throws Exception {
+        SqlStatementCounter.reset();
+        mockMvc.perform(request.header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk());
+        assertEquals(expected, SqlStatementCounter.count());
+    }
+
+}
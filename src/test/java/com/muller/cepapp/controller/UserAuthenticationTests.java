@@ -0,0 +1,176 @@
+package com.muller.cepapp.controller;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.muller.cepapp.TestData;
+import com.muller.cepapp.dto.LoginRequest;
+import com.muller.cepapp.dto.RegisterRequest;
+import com.muller.cepapp.entity.User;
+import com.muller.cepapp.repository.UserRepository;
+import com.muller.cepapp.service.UserService;
+
+/**
+ * Not transactional: login and registration run on the password hashing pool, outside the test thread, so they
+ * only see committed users. Everything created here is deleted after each test.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class UserAuthenticationTests {
+
+    private static final String REGISTERED_EMAIL = "registered.user@example.com";
+
+    private static final String LEGACY_EMAIL = "legacy.user@example.com";
+
+    private static final String THROTTLED_EMAIL = "throttled.user@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setup() {
+        userService.createUser(new User(TestData.NAME, TestData.EMAIL, TestData.PASSWORD, TestData.ROLE));
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String email : new String[] {TestData.EMAIL, REGISTERED_EMAIL, LEGACY_EMAIL}) {
+            userRepository.findByEmail(email).ifPresent(userRepository::delete);
+        }
+    }
+
+    @Test
+    @DisplayName("Should return a token that authenticates later requests")
+    void shouldLogin() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post("/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest(TestData.EMAIL, TestData.PASSWORD))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(body).get("token").asText();
+
+        User user = userRepository.findByEmail(TestData.EMAIL).orElseThrow();
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/" + user.getId())
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should return UNAUTHORIZED for a wrong password")
+    void shouldRejectWrongPassword() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post("/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest(TestData.EMAIL, "wrong-password"))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should register a new user with the user role")
+    void shouldRegister() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post("/users/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RegisterRequest("Registered User", REGISTERED_EMAIL, TestData.PASSWORD))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.email").value(REGISTERED_EMAIL))
+                .andExpect(jsonPath("$.role").value(User.Role.ROLE_USER.name()))
+                .andExpect(jsonPath("$.password").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should return CONFLICT when registering an email that is already taken")
+    void shouldRejectDuplicateRegistration() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/users/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RegisterRequest("Registered User", TestData.EMAIL, TestData.PASSWORD))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("Should return BAD REQUEST for an invalid registration without hashing it")
+    void shouldRejectInvalidRegistration() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/users/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RegisterRequest("Registered User", "not-an-email", "short"))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should rehash a legacy BCrypt password with the configured encoder on login")
+    void shouldUpgradeLegacyHashOnLogin() throws Exception {
+        String legacyHash = new BCryptPasswordEncoder(4).encode(TestData.PASSWORD);
+        userRepository.save(new User(TestData.NAME, LEGACY_EMAIL, legacyHash, TestData.ROLE));
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post("/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest(LEGACY_EMAIL, TestData.PASSWORD))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        String storedHash = userRepository.findByEmail(LEGACY_EMAIL).orElseThrow().getPassword();
+        assertNotEquals(legacyHash, storedHash);
+        assertTrue(storedHash.startsWith("{bcrypt}"));
+    }
+
+    @Test
+    @DisplayName("Should return TOO MANY REQUESTS once an email runs out of login attempts")
+    void shouldThrottleLoginsPerEmail() throws Exception {
+        String body = objectMapper.writeValueAsString(new LoginRequest(THROTTLED_EMAIL, "wrong-password"));
+
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(MockMvcRequestBuilders.post("/users/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andExpect(request().asyncStarted());
+        }
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+    }
+
+}
@@ -15,7 +15,9 @@ import org.springframework.transaction.annotation.Transactional;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.muller.cepapp.TestData;
 import com.muller.cepapp.TestMethods;
+import com.muller.cepapp.entity.Address;
 import com.muller.cepapp.entity.User;
+import com.muller.cepapp.service.AddressService;
 import com.muller.cepapp.service.JwtService;
 import com.muller.cepapp.service.UserService;
 
@@ -46,6 +48,9 @@ public class UserControllerTests {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private AddressService addressService;
+
     private User testUser;
 
     private String jwtToken;
@@ -76,6 +81,31 @@ public class UserControllerTests {
                 .andExpect(jsonPath("$.name").value(testUser.getName()));
     }
 
+    @Test
+    @DisplayName("Should return NOT MODIFIED when If-None-Match has the current ETag")
+    void shouldReturnNotModifiedForCurrentETag() throws Exception {
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/users/" + testUser.getId())
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/" + testUser.getId())
+                .header("If-None-Match", etag)
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Should not expose the password hash or the address list")
+    void shouldNotExposePasswordOrAddresses() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/" + testUser.getId())
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(TestData.EMAIL))
+                .andExpect(jsonPath("$.password").doesNotExist())
+                .andExpect(jsonPath("$.addresses").doesNotExist());
+    }
+
     @Test
     @DisplayName("Should return NOT FOUND when getting user by non existent ID")
     void shouldReturnNotFoundForNonExistentId() throws Exception {
@@ -211,6 +241,16 @@ public class UserControllerTests {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    @DisplayName("Should leave requests unauthenticated when the token's user was deleted")
+    void shouldNotAuthenticateDeletedUser() throws Exception {
+        userService.deleteUser(testUser.getId());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/users")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @DisplayName("Should not allow regular user to get all users")
     void shouldNotAllowRegularUserToGetAllUsers() throws Exception {
@@ -240,6 +280,31 @@ public class UserControllerTests {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    @DisplayName("Should allow regular user to get their own addresses")
+    void shouldAllowRegularUserToGetOwnAddresses() throws Exception {
+        SimpleEntry<User, String> regularUser = TestMethods.createRegularUser(userService, userDetailsService, jwtService);
+        User user = regularUser.getKey();
+        Address address = addressService.createAddress(new Address(TestData.STREET, TestData.NUMBER, TestData.COMPLEMENT, TestData.NEIGHBORHOOD, TestData.CITY, TestData.STATE, TestData.ZIP_CODE, user), user.getId());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/" + user.getId() + "/addresses")
+                .header("Authorization", "Bearer " + regularUser.getValue()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(address.getId()))
+                .andExpect(jsonPath("$.content[0].zipCode").value(TestData.ZIP_CODE))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should not allow regular user to get another user's addresses")
+    void shouldNotAllowRegularUserToGetOtherUserAddresses() throws Exception {
+        SimpleEntry<User, String> regularUser = TestMethods.createRegularUser(userService, userDetailsService, jwtService);
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/" + testUser.getId() + "/addresses")
+                .header("Authorization", "Bearer " + regularUser.getValue()))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @DisplayName("Should allow regular user to update their own user data")
     void shouldAllowRegularUserToUpdateOwnData() throws Exception{
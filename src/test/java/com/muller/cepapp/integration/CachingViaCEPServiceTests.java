@@ -0,0 +1,189 @@
+package com.muller.cepapp.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.muller.cepapp.TestData;
+import com.muller.cepapp.exception.InvalidZipCodeException;
+import com.muller.cepapp.exception.ViaCEPException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class CachingViaCEPServiceTests {
+
+    private static final String UNKNOWN_ZIP_CODE = "99999999";
+
+    private static final Duration TTL = Duration.ofHours(1);
+
+    private static final Duration MAX_STALE = Duration.ofDays(1);
+
+    private final StubViaCEPService stub = new StubViaCEPService().addUnknownZipCode(UNKNOWN_ZIP_CODE);
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final Queue<Runnable> refreshes = new ArrayDeque<>();
+
+    private CachingViaCEPService cachingViaCEPService;
+
+    @BeforeEach
+    void setup() {
+        cachingViaCEPService = new CachingViaCEPService(stub, 100, TTL, MAX_STALE, Duration.ofMinutes(1), refreshes::add, nanos::get);
+    }
+
+    @Test
+    @DisplayName("Should call ViaCEP only once for repeated CEPs")
+    void shouldServeRepeatedZipCodeFromCache() {
+        ViaCEPResponse first = cachingViaCEPService.getAddressByZipCode(TestData.ZIP_CODE);
+        ViaCEPResponse second = cachingViaCEPService.getAddressByZipCode("70160-900");
+
+        assertSame(first, second);
+        assertEquals(1, stub.calls());
+        assertEquals(1, cachingViaCEPService.stats().hitCount());
+        assertEquals(1, cachingViaCEPService.stats().missCount());
+    }
+
+    @Test
+    @DisplayName("Should share a single ViaCEP call between concurrent lookups of the same CEP")
+    void shouldCoalesceConcurrentLookups() throws Exception {
+        int callers = 8;
+        CountDownLatch release = new CountDownLatch(1);
+
+        CachingViaCEPService blockingViaCEPService = new CachingViaCEPService(zipCode -> {
+            ViaCEPResponse response = stub.getAddressByZipCode(zipCode);
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return response;
+        }, 100, TTL, MAX_STALE, Duration.ofMinutes(1), refreshes::add, nanos::get);
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<ViaCEPResponse>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> blockingViaCEPService.getAddressByZipCode(TestData.ZIP_CODE)));
+            }
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (stub.calls() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            ViaCEPResponse first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<ViaCEPResponse> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, stub.calls());
+    }
+
+    @Test
+    @DisplayName("Should publish hits and misses as cache metrics")
+    void shouldPublishCacheMetrics() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        cachingViaCEPService.bindTo(meterRegistry);
+
+        cachingViaCEPService.getAddressByZipCode(TestData.ZIP_CODE);
+        cachingViaCEPService.getAddressByZipCode(TestData.ZIP_CODE);
+
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "viacep").tag("result", "hit").functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "viacep").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should cache unknown CEPs")
+    void shouldCacheUnknownZipCode() {
+        assertThrows(InvalidZipCodeException.class, () -> cachingViaCEPService.getAddressByZipCode(UNKNOWN_ZIP_CODE));
+        InvalidZipCodeException exception = assertThrows(InvalidZipCodeException.class, () -> cachingViaCEPService.getAddressByZipCode(UNKNOWN_ZIP_CODE));
+
+        assertEquals(String.format(ViaCEPServiceImpl.ZIP_CODE_NOT_FOUND_MESSAGE, UNKNOWN_ZIP_CODE), exception.getMessage());
+        assertEquals(1, stub.calls());
+    }
+
+    @Test
+    @DisplayName("Should not cache ViaCEP connection failures")
+    void shouldNotCacheConnectionFailures() {
+        stub.setUpstreamDown(true);
+        assertThrows(ViaCEPException.class, () -> cachingViaCEPService.getAddressByZipCode(TestData.ZIP_CODE));
+
+        stub.setUpstreamDown(false);
+        cachingViaCEPService.getAddressByZipCode(TestData.ZIP_CODE);
+
+        assertEquals(2, stub.calls());
+    }
+
+    @Test
+    @DisplayName("Should serve an expired entry immediately and refresh it in the background")
+    void shouldServeStaleEntryWhileRefreshing() {
+        ViaCEPResponse first = cachingViaCEPService.getAddressByZipCode(TestData.ZIP_CODE);
+
+        advance(TTL.plusMinutes(1));
+        assertSame(first, cachingViaCEPService.getAddressByZipCode(TestData.ZIP_CODE));
+        assertEquals(1, stub.calls());
+
+        runRefreshes();
+        assertEquals(2, stub.calls());
+        assertNotSame(first, cachingViaCEPService.getAddressByZipCode(TestData.ZIP_CODE));
+    }
+
+    @Test
+    @DisplayName("Should keep serving the stale entry while ViaCEP is down")
+    void shouldKeepStaleEntryWhenRefreshFails() {
+        ViaCEPResponse first = cachingViaCEPService.getAddressByZipCode(TestData.ZIP_CODE);
+
+        stub.setUpstreamDown(true);
+        advance(TTL.plusMinutes(1));
+        cachingViaCEPService.getAddressByZipCode(TestData.ZIP_CODE);
+        runRefreshes();
+
+        assertEquals(2, stub.calls());
+        assertSame(first, cachingViaCEPService.getAddressByZipCode(TestData.ZIP_CODE));
+    }
+
+    @Test
+    @DisplayName("Should stop serving entries stale for longer than max-stale")
+    void shouldExpireEntriesPastMaxStale() {
+        cachingViaCEPService.getAddressByZipCode(TestData.ZIP_CODE);
+
+        stub.setUpstreamDown(true);
+        advance(TTL.plus(MAX_STALE).plusMinutes(1));
+
+        assertThrows(ViaCEPException.class, () -> cachingViaCEPService.getAddressByZipCode(TestData.ZIP_CODE));
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private void runRefreshes() {
+        Runnable task;
+        while ((task = refreshes.poll()) != null) {
+            task.run();
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.muller.cepapp.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import com.muller.cepapp.TestData;
+import com.muller.cepapp.entity.CepDirectoryEntry;
+import com.muller.cepapp.exception.ViaCEPException;
+import com.muller.cepapp.repository.CepDirectoryRepository;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+public class DirectoryViaCEPServiceTests {
+
+    @Autowired
+    private CepDirectoryRepository cepDirectoryRepository;
+
+    private final StubViaCEPService stub = new StubViaCEPService();
+
+    private DirectoryViaCEPService directoryViaCEPService;
+
+    @BeforeEach
+    void setup() {
+        directoryViaCEPService = new DirectoryViaCEPService(stub, cepDirectoryRepository, Duration.ofDays(30));
+    }
+
+    @Test
+    @DisplayName("Should write ViaCEP answers through to the directory and serve them from there")
+    void shouldWriteThroughAndServeFromDirectory() {
+        directoryViaCEPService.getAddressByZipCode(TestData.ZIP_CODE);
+
+        assertTrue(cepDirectoryRepository.findById(TestData.ZIP_CODE).isPresent());
+
+        ViaCEPResponse response = directoryViaCEPService.getAddressByZipCode(TestData.ZIP_CODE);
+        assertEquals(TestData.STREET, response.getStreet());
+        assertEquals(TestData.CITY, response.getCity());
+        assertEquals(1, stub.calls());
+    }
+
+    @Test
+    @DisplayName("Should refresh entries older than the refresh age")
+    void shouldRefreshOldEntries() {
+        cepDirectoryRepository.save(storedEntry(LocalDateTime.now().minusDays(31)));
+
+        directoryViaCEPService.getAddressByZipCode(TestData.ZIP_CODE);
+
+        assertEquals(1, stub.calls());
+    }
+
+    @Test
+    @DisplayName("Should serve old entries when ViaCEP is unavailable")
+    void shouldServeOldEntriesWhenViaCEPIsDown() {
+        cepDirectoryRepository.save(storedEntry(LocalDateTime.now().minusDays(31)));
+        stub.setUpstreamDown(true);
+
+        ViaCEPResponse response = directoryViaCEPService.getAddressByZipCode(TestData.ZIP_CODE);
+
+        assertEquals("Stored Street", response.getStreet());
+    }
+
+    @Test
+    @DisplayName("Should propagate ViaCEP failures for unknown entries")
+    void shouldFailWhenViaCEPIsDownAndEntryIsUnknown() {
+        stub.setUpstreamDown(true);
+
+        assertThrows(ViaCEPException.class, () -> directoryViaCEPService.getAddressByZipCode(TestData.ZIP_CODE));
+    }
+
+    private static CepDirectoryEntry storedEntry(LocalDateTime fetchedAt) {
+        CepDirectoryEntry entry = new CepDirectoryEntry();
+        entry.setZipCode(TestData.ZIP_CODE);
+        entry.setStreet("Stored Street");
+        entry.setNeighborhood(TestData.NEIGHBORHOOD);
+        entry.setCity(TestData.CITY);
+        entry.setState(TestData.STATE);
+        entry.setFetchedAt(fetchedAt);
+        return entry;
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.muller.cepapp.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.muller.cepapp.TestData;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class OfflineCepIndexTests {
+
+    @TempDir
+    private Path directory;
+
+    private OfflineCepIndex offlineCepIndex;
+
+    @BeforeEach
+    void setup() throws Exception {
+        Path csv = directory.resolve("ceps.csv");
+        Files.writeString(csv, String.join("\n",
+                "cep;logradouro;complemento;bairro;localidade;uf",
+                "70160-900;" + TestData.STREET + ";;" + TestData.NEIGHBORHOOD + ";" + TestData.CITY + ";" + TestData.STATE,
+                "01001-000;\"Praça da Sé\";\"lado ímpar\";Sé;São Paulo;SP",
+                "01001-001;\"Praça da Sé\";\"lado par\";Sé;São Paulo;SP",
+                "invalid;Nowhere;;;;"), StandardCharsets.UTF_8);
+
+        offlineCepIndex = OfflineCepIndex.openOrCompile(csv, directory.resolve("ceps.idx"));
+    }
+
+    @Test
+    @DisplayName("Should open a precompiled index without its CSV")
+    void shouldOpenIndexWithoutCsv() throws Exception {
+        Files.delete(directory.resolve("ceps.csv"));
+
+        OfflineCepIndex precompiled = OfflineCepIndex.openOrCompile(directory.resolve("ceps.csv"), directory.resolve("ceps.idx"));
+
+        assertEquals(3, precompiled.size());
+    }
+
+    @Test
+    @DisplayName("Should compile only valid CEPs")
+    void shouldCompileValidZipCodes() {
+        assertEquals(3, offlineCepIndex.size());
+    }
+
+    @Test
+    @DisplayName("Should find CEPs in the compiled index")
+    void shouldFindZipCodes() {
+        ViaCEPResponse response = offlineCepIndex.find(TestData.ZIP_CODE);
+        assertEquals(TestData.ZIP_CODE, response.getZipCode());
+        assertEquals(TestData.STREET, response.getStreet());
+        assertEquals("", response.getComplement());
+        assertEquals(TestData.NEIGHBORHOOD, response.getNeighborhood());
+        assertEquals(TestData.CITY, response.getCity());
+        assertEquals(TestData.STATE, response.getState());
+
+        ViaCEPResponse other = offlineCepIndex.find("01001001");
+        assertEquals("Praça da Sé", other.getStreet());
+        assertEquals("lado par", other.getComplement());
+        assertEquals("São Paulo", other.getCity());
+    }
+
+    @Test
+    @DisplayName("Should return null for unknown CEPs")
+    void shouldNotFindUnknownZipCodes() {
+        assertNull(offlineCepIndex.find("99999999"));
+        assertNull(offlineCepIndex.find("00000000"));
+        assertNull(offlineCepIndex.find("123"));
+    }
+
+    @Test
+    @DisplayName("Should fall back to ViaCEP only for CEPs missing from the dataset")
+    void shouldFallBackForMisses() {
+        StubViaCEPService stub = new StubViaCEPService();
+        OfflineViaCEPService offlineViaCEPService = new OfflineViaCEPService(offlineCepIndex, stub);
+
+        offlineViaCEPService.getAddressByZipCode("70160-900");
+        offlineViaCEPService.getAddressByZipCode("99999999");
+
+        assertEquals(1, stub.calls());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        offlineViaCEPService.bindTo(meterRegistry);
+        assertEquals(1, meterRegistry.get("viacep.offline.lookups").tag("result", "hit").functionCounter().count());
+        assertEquals(1, meterRegistry.get("viacep.offline.lookups").tag("result", "miss").functionCounter().count());
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.muller.cepapp.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.muller.cepapp.TestData;
+import com.muller.cepapp.exception.InvalidZipCodeException;
+import com.muller.cepapp.exception.ViaCEPException;
+import com.muller.cepapp.exception.ViaCEPUnavailableException;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+
+public class ResilientViaCEPServiceTests {
+
+    private final StubViaCEPService stub = new StubViaCEPService();
+
+    @Test
+    @DisplayName("Should open the circuit and fail fast after repeated ViaCEP failures")
+    void shouldOpenCircuitAfterFailures() {
+        ResilientViaCEPService resilientViaCEPService = resilient(failing(), new RetryBudget(0, 0), 1, 10);
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ViaCEPException.class, () -> resilientViaCEPService.getAddressByZipCode(TestData.ZIP_CODE));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, resilientViaCEPService.circuitState());
+
+        assertThrows(ViaCEPUnavailableException.class, () -> resilientViaCEPService.getAddressByZipCode(TestData.ZIP_CODE));
+        assertEquals(4, stub.calls());
+    }
+
+    @Test
+    @DisplayName("Should not count unknown CEPs as ViaCEP failures")
+    void shouldIgnoreUnknownZipCodes() {
+        stub.addUnknownZipCode(TestData.ZIP_CODE);
+        ResilientViaCEPService resilientViaCEPService = resilient(stub, new RetryBudget(1, 10), 3, 10);
+
+        for (int i = 0; i < 6; i++) {
+            assertThrows(InvalidZipCodeException.class, () -> resilientViaCEPService.getAddressByZipCode(TestData.ZIP_CODE));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, resilientViaCEPService.circuitState());
+        assertEquals(6, stub.calls());
+    }
+
+    @Test
+    @DisplayName("Should retry failures only while the retry budget allows it")
+    void shouldRetryWithinBudget() {
+        ResilientViaCEPService resilientViaCEPService = resilient(failing(), new RetryBudget(0, 2), 3, 10);
+
+        assertThrows(ViaCEPException.class, () -> resilientViaCEPService.getAddressByZipCode(TestData.ZIP_CODE));
+        assertEquals(3, stub.calls());
+
+        assertThrows(ViaCEPException.class, () -> resilientViaCEPService.getAddressByZipCode(TestData.ZIP_CODE));
+        assertEquals(4, stub.calls());
+    }
+
+    @Test
+    @DisplayName("Should spend one budget token per retry performed")
+    void shouldSpendOneTokenPerRetry() {
+        RetryBudget retryBudget = new RetryBudget(0, 5);
+        ResilientViaCEPService resilientViaCEPService = resilient(failing(), retryBudget, 3, 10);
+
+        assertThrows(ViaCEPException.class, () -> resilientViaCEPService.getAddressByZipCode(TestData.ZIP_CODE));
+
+        int retries = stub.calls() - 1;
+        assertEquals(2, retries);
+        assertEquals(5 - retries, retryBudget.available());
+        assertEquals(0, retryBudget.exhausted());
+    }
+
+    @Test
+    @DisplayName("Should reject calls above the bulkhead limit")
+    void shouldRejectCallsAboveBulkheadLimit() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ResilientViaCEPService resilientViaCEPService = resilient(zipCode -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return StubViaCEPService.response(zipCode);
+        }, new RetryBudget(0, 0), 1, 1);
+
+        Thread blocked = new Thread(() -> resilientViaCEPService.getAddressByZipCode(TestData.ZIP_CODE));
+        blocked.start();
+        started.await(5, TimeUnit.SECONDS);
+
+        assertThrows(ViaCEPUnavailableException.class, () -> resilientViaCEPService.getAddressByZipCode(TestData.ZIP_CODE));
+
+        release.countDown();
+        blocked.join();
+    }
+
+    private ViaCEPService failing() {
+        stub.setUpstreamDown(true);
+        return stub;
+    }
+
+    private ResilientViaCEPService resilient(ViaCEPService delegate, RetryBudget retryBudget, int maxAttempts, int maxConcurrentCalls) {
+        CircuitBreaker circuitBreaker = CircuitBreaker.of("test", CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .recordExceptions(ViaCEPException.class)
+                .ignoreExceptions(InvalidZipCodeException.class)
+                .build());
+        Bulkhead bulkhead = Bulkhead.of("test", BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        Retry retry = Retry.of("test", RetryConfig.custom()
+                .maxAttempts(maxAttempts)
+                .waitDuration(Duration.ofMillis(1))
+                .retryExceptions(ViaCEPException.class)
+                .build());
+
+        return new ResilientViaCEPService(delegate, circuitBreaker, bulkhead, retry, retryBudget);
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.muller.cepapp.integration;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.muller.cepapp.TestData;
+import com.muller.cepapp.exception.InvalidZipCodeException;
+import com.muller.cepapp.exception.ViaCEPException;
+
+/**
+ * Stand-in for ViaCEP behind the decorator tests: answers every CEP with the {@link TestData} address and counts the
+ * calls. CEPs added as unknown are not found, and the whole upstream can be taken down.
+ */
+public class StubViaCEPService implements ViaCEPService {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final Set<String> unknownZipCodes = ConcurrentHashMap.newKeySet();
+    private volatile boolean upstreamDown;
+
+    @Override
+    public ViaCEPResponse getAddressByZipCode(String zipCode) {
+        calls.incrementAndGet();
+        if (upstreamDown) {
+            throw new ViaCEPException("Error connecting to ViaCEP", null);
+        }
+        if (unknownZipCodes.contains(zipCode)) {
+            throw new InvalidZipCodeException(String.format(ViaCEPServiceImpl.ZIP_CODE_NOT_FOUND_MESSAGE, zipCode));
+        }
+        return response(zipCode);
+    }
+
+    public StubViaCEPService addUnknownZipCode(String zipCode) {
+        unknownZipCodes.add(zipCode);
+        return this;
+    }
+
+    public void setUpstreamDown(boolean upstreamDown) {
+        this.upstreamDown = upstreamDown;
+    }
+
+    public int calls() {
+        return calls.get();
+    }
+
+    /**
+     * A fresh ViaCEP answer for {@code zipCode} with the {@link TestData} address.
+     */
+    public static ViaCEPResponse response(String zipCode) {
+        ViaCEPResponse response = new ViaCEPResponse();
+        response.setZipCode(zipCode);
+        response.setStreet(TestData.STREET);
+        response.setNeighborhood(TestData.NEIGHBORHOOD);
+        response.setCity(TestData.CITY);
+        response.setState(TestData.STATE);
+        return response;
+    }
+
+}
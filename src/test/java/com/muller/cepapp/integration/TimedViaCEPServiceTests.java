@@ -0,0 +1,46 @@
+package com.muller.cepapp.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.muller.cepapp.TestData;
+import com.muller.cepapp.exception.InvalidZipCodeException;
+import com.muller.cepapp.exception.ViaCEPException;
+import com.muller.cepapp.exception.ViaCEPUnavailableException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TimedViaCEPServiceTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should time lookups by outcome")
+    void shouldTimeLookupsByOutcome() {
+        TimedViaCEPService timedViaCEPService = new TimedViaCEPService(zipCode -> switch (zipCode) {
+            case TestData.ZIP_CODE -> StubViaCEPService.response(zipCode);
+            case "00000000"        -> throw new InvalidZipCodeException("CEP not found");
+            case "11111111"        -> throw new ViaCEPUnavailableException("ViaCEP is unavailable", null);
+            default                -> throw new ViaCEPException("Error fetching address from ViaCEP");
+        }, meterRegistry);
+
+        timedViaCEPService.getAddressByZipCode(TestData.ZIP_CODE);
+        timedViaCEPService.getAddressByZipCode(TestData.ZIP_CODE);
+        assertThrows(InvalidZipCodeException.class, () -> timedViaCEPService.getAddressByZipCode("00000000"));
+        assertThrows(ViaCEPUnavailableException.class, () -> timedViaCEPService.getAddressByZipCode("11111111"));
+        assertThrows(ViaCEPException.class, () -> timedViaCEPService.getAddressByZipCode("22222222"));
+
+        assertEquals(2, count("found"));
+        assertEquals(1, count("not_found"));
+        assertEquals(1, count("unavailable"));
+        assertEquals(1, count("error"));
+    }
+
+    private long count(String outcome) {
+        return meterRegistry.get(TimedViaCEPService.TIMER_NAME).tag("outcome", outcome).timer().count();
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.muller.cepapp.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.muller.cepapp.TestData;
+import com.muller.cepapp.exception.InvalidZipCodeException;
+import com.muller.cepapp.exception.ViaCEPException;
+import com.sun.net.httpserver.HttpServer;
+
+public class ViaCEPServiceImplTests {
+
+    private HttpServer server;
+
+    private ViaCEPServiceImpl viaCEPServiceImpl;
+
+    @BeforeEach
+    void setup() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/ws/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            int status = 200;
+            String body;
+            if (path.contains(TestData.ZIP_CODE)) {
+                body = "{\"cep\": \"70160-900\", \"logradouro\": \"Praça dos Três Poderes\", \"bairro\": \"Zona Cívico-Administrativa\", \"localidade\": \"Brasília\", \"uf\": \"DF\", \"ibge\": \"5300108\"}";
+            } else if (path.contains("11111111")) {
+                try {
+                    Thread.sleep(2000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                body = "{}";
+            } else if (path.contains("22222222")) {
+                status = 503;
+                body = "";
+            } else {
+                body = "{\"erro\": \"true\"}";
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        String url = "http://localhost:" + server.getAddress().getPort() + "/ws/{cep}/json/";
+        viaCEPServiceImpl = new ViaCEPServiceImpl(httpClient, new ObjectMapper(), url, Duration.ofMillis(500), Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should map the ViaCEP JSON response")
+    void shouldMapResponse() {
+        ViaCEPResponse response = viaCEPServiceImpl.getAddressByZipCode("70160-900");
+
+        assertEquals("70160-900", response.getZipCode());
+        assertEquals(TestData.STREET, response.getStreet());
+        assertEquals(TestData.NEIGHBORHOOD, response.getNeighborhood());
+        assertEquals(TestData.CITY, response.getCity());
+        assertEquals(TestData.STATE, response.getState());
+    }
+
+    @Test
+    @DisplayName("Should throw \"InvalidZipCodeException\" for unknown or malformed CEPs")
+    void shouldRejectUnknownZipCodes() {
+        assertThrows(InvalidZipCodeException.class, () -> viaCEPServiceImpl.getAddressByZipCode("99999999"));
+        assertThrows(InvalidZipCodeException.class, () -> viaCEPServiceImpl.getAddressByZipCode("123"));
+    }
+
+    @Test
+    @DisplayName("Should throw \"ViaCEPException\" when ViaCEP fails or times out")
+    void shouldFailOnUpstreamErrors() {
+        assertThrows(ViaCEPException.class, () -> viaCEPServiceImpl.getAddressByZipCode("22222222"));
+        assertThrows(ViaCEPException.class, () -> viaCEPServiceImpl.getAddressByZipCode("11111111"));
+    }
+
+}
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,6 +17,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 
 import com.muller.cepapp.TestData;
+import com.muller.cepapp.dto.AddressResponse;
 import com.muller.cepapp.entity.Address;
 import com.muller.cepapp.entity.User;
 
@@ -71,5 +73,25 @@ public class AddressRepositoryTests {
         assertEquals(2, page.getContent().size());
         assertEquals(3, page.getTotalElements());
     }
+
+    @Test
+    @DisplayName("Should stream addresses as flat projections ordered by ID")
+    void streamAllAddresses() {
+        User user = new User(TestData.NAME, TestData.EMAIL, TestData.PASSWORD, TestData.ROLE);
+        User savedUser = userRepository.save(user);
+        List<Address> savedAddresses = addressRepository.saveAll(List.of(
+                new Address("STREET_A", "1", null, "NEIGHBORHOOD_A", "CITY_A", "SP", "11111111", savedUser),
+                new Address("STREET_B", "2", null, "NEIGHBORHOOD_B", "CITY_B", "GO", "22222222", savedUser)
+        ));
+
+        List<AddressResponse> streamed;
+        try (Stream<AddressResponse> addresses = addressRepository.streamAll()) {
+            streamed = addresses.filter(a -> savedUser.getId().equals(a.userId())).toList();
+        }
+
+        assertEquals(2, streamed.size());
+        assertEquals(savedAddresses.get(0).getId(), streamed.get(0).id());
+        assertEquals("STREET_B", streamed.get(1).street());
+    }
     
 }
@@ -0,0 +1,118 @@
+package com.muller.cepapp.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.muller.cepapp.TestData;
+import com.muller.cepapp.entity.Address;
+import com.muller.cepapp.entity.User;
+import com.muller.cepapp.service.AddressService;
+import com.muller.cepapp.service.UserService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Not transactional: the second-level cache is only populated and invalidated when transactions commit. Everything
+ * created here is deleted after each test.
+ */
+@SpringBootTest
+public class SecondLevelCacheTests {
+
+    private static final String CACHED_EMAIL = "cached.user@example.com";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private User user;
+
+    private Address address;
+
+    @BeforeEach
+    void setup() {
+        user    = userRepository.save(new User(TestData.NAME, CACHED_EMAIL, TestData.PASSWORD, TestData.ROLE));
+        address = addressRepository.save(new Address(TestData.STREET, TestData.NUMBER, null, TestData.NEIGHBORHOOD,
+                TestData.CITY, TestData.STATE, TestData.ZIP_CODE, user));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.findByEmail(CACHED_EMAIL).ifPresent(userRepository::delete);
+    }
+
+    @Test
+    @DisplayName("Should read committed users and addresses by ID from the cache")
+    void shouldReadEntitiesFromCache() {
+        assertEquals(TestData.NAME, userService.getUserById(user.getId()).orElseThrow().getName());
+        assertEquals(TestData.ZIP_CODE, addressService.getAddressById(address.getId()).orElseThrow().getZipCode());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(User.CACHE_REGION).getHitCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(Address.CACHE_REGION).getHitCount());
+    }
+
+    @Test
+    @DisplayName("Should query a user by email only once")
+    void shouldCacheFindByEmail() {
+        userService.getUserByEmail(CACHED_EMAIL).orElseThrow();
+        userService.getUserByEmail(CACHED_EMAIL).orElseThrow();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("Should not serve a cached user or email lookup after an update")
+    void shouldInvalidateOnUpdate() {
+        userService.getUserByEmail(CACHED_EMAIL).orElseThrow();
+
+        userService.updateUser(user.getId(), new User("Renamed User", CACHED_EMAIL, null, TestData.ROLE));
+
+        assertEquals("Renamed User", userService.getUserById(user.getId()).orElseThrow().getName());
+        assertEquals("Renamed User", userService.getUserByEmail(CACHED_EMAIL).orElseThrow().getName());
+    }
+
+    @Test
+    @DisplayName("Should evict the cached address collection when an address is added from the owning side")
+    void shouldEvictAddressCollectionOnInsert() {
+        assertEquals(1, countAddresses());
+
+        addressRepository.save(new Address(TestData.STREET, "1", null, TestData.NEIGHBORHOOD,
+                TestData.CITY, TestData.STATE, TestData.ZIP_CODE, user));
+
+        assertEquals(2, countAddresses());
+    }
+
+    private int countAddresses() {
+        return transactionTemplate.execute(status -> userRepository.findById(user.getId()).orElseThrow().getAddresses().size());
+    }
+
+}
@@ -55,7 +55,7 @@ public class UserRepositoryTests {
     @DisplayName("Should fail if user email is null")
     void saveUserWithNullEmailShouldFailDatabaseConstraint() {
         User invalidUser = new User("Invalid User", null, "password", TestData.ROLE);
-        assertThrows(ConstraintViolationException.class, () -> userRepository.save(invalidUser));
+        assertThrows(ConstraintViolationException.class, () -> userRepository.saveAndFlush(invalidUser));
     }
 
     @Test
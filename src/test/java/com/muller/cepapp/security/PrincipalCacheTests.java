@@ -0,0 +1,88 @@
+package com.muller.cepapp.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.muller.cepapp.TestData;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class PrincipalCacheTests {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private PrincipalCache principalCache;
+
+    @BeforeEach
+    void setup() {
+        principalCache = new PrincipalCache(email -> {
+            loads.incrementAndGet();
+            if (!TestData.EMAIL.equals(email)) {
+                throw new UsernameNotFoundException("User not found with email: " + email);
+            }
+            return new UserSecurityDetails(1L, email, "hash", List.of(new SimpleGrantedAuthority(TestData.ROLE.name())));
+        }, 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("Should load a principal once and serve it from the cache afterwards")
+    void shouldCachePrincipal() {
+        UserDetails first = principalCache.get(TestData.EMAIL);
+        UserDetails second = principalCache.get(TestData.EMAIL);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not keep the password hash of cached principals")
+    void shouldEraseCredentials() {
+        assertNull(principalCache.get(TestData.EMAIL).getPassword());
+    }
+
+    @Test
+    @DisplayName("Should reload a principal after it is invalidated")
+    void shouldReloadAfterInvalidation() {
+        principalCache.get(TestData.EMAIL);
+        principalCache.invalidate(TestData.EMAIL);
+        principalCache.get(TestData.EMAIL);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not cache unknown users")
+    void shouldNotCacheUnknownUsers() {
+        assertThrows(UsernameNotFoundException.class, () -> principalCache.get("unknown@example.com"));
+        assertThrows(UsernameNotFoundException.class, () -> principalCache.get("unknown@example.com"));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should publish principal cache hits and misses")
+    void shouldPublishCacheMetrics() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        principalCache.bindTo(meterRegistry);
+
+        principalCache.get(TestData.EMAIL);
+        principalCache.get(TestData.EMAIL);
+
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "security.principals").tag("result", "hit").functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "security.principals").tag("result", "miss").functionCounter().count());
+    }
+
+}
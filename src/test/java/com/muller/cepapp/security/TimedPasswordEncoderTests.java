@@ -0,0 +1,63 @@
+package com.muller.cepapp.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.muller.cepapp.TestData;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TimedPasswordEncoderTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final PasswordEncoder passwordEncoder;
+
+    TimedPasswordEncoderTests() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+        DelegatingPasswordEncoder delegatingPasswordEncoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegatingPasswordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        passwordEncoder = new TimedPasswordEncoder(delegatingPasswordEncoder, "bcrypt", "bcrypt", Set.of("bcrypt"), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should time hashing and verification by algorithm and outcome")
+    void shouldTimeEncodeAndMatches() {
+        String hash = passwordEncoder.encode(TestData.PASSWORD);
+
+        assertTrue(passwordEncoder.matches(TestData.PASSWORD, hash));
+        assertFalse(passwordEncoder.matches("wrong-password", hash));
+
+        assertEquals(1, meterRegistry.get(TimedPasswordEncoder.ENCODE_TIMER_NAME).tag("algorithm", "bcrypt").timer().count());
+        assertEquals(1, matchesCount("bcrypt", "match"));
+        assertEquals(1, matchesCount("bcrypt", "mismatch"));
+    }
+
+    @Test
+    @DisplayName("Should tag unprefixed hashes with the default algorithm")
+    void shouldTagLegacyHashes() {
+        String legacyHash = new BCryptPasswordEncoder(4).encode(TestData.PASSWORD);
+
+        assertTrue(passwordEncoder.matches(TestData.PASSWORD, legacyHash));
+
+        assertEquals(1, matchesCount("bcrypt", "match"));
+    }
+
+    private long matchesCount(String algorithm, String outcome) {
+        return meterRegistry.get(TimedPasswordEncoder.MATCHES_TIMER_NAME)
+                .tag("algorithm", algorithm)
+                .tag("outcome", outcome)
+                .timer().count();
+    }
+
+}
@@ -1,8 +1,12 @@
 package com.muller.cepapp.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,9 +17,12 @@ import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.muller.cepapp.TestData;
+import com.muller.cepapp.dto.AddressBatchResult;
 import com.muller.cepapp.entity.Address;
 import com.muller.cepapp.entity.User;
+import com.muller.cepapp.exception.AddressBatchTooLargeException;
 import com.muller.cepapp.exception.AddressNotFoundException;
+import com.muller.cepapp.exception.UserNotFoundException;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Transactional
@@ -53,5 +60,45 @@ public class AddressServiceTests {
 
         assertEquals(String.format(AddressService.ADDRESS_NOT_FOUND_MESSAGE, String.valueOf(nonExistentAddressId)), exception.getMessage());
     }
-    
+
+    @Test
+    @DisplayName("Should throw \"UserNotFoundException\" if the owner of a new address does not exist")
+    void shouldFailCreateAddressForUnknownUser() {
+        Address address = new Address(TestData.STREET, TestData.NUMBER, TestData.COMPLEMENT, TestData.NEIGHBORHOOD, TestData.CITY, TestData.STATE, TestData.ZIP_CODE, null);
+
+        assertThrows(UserNotFoundException.class, () -> addressService.createAddress(address, -1L));
+    }
+
+    @Test
+    @DisplayName("Should create valid addresses of a batch and report the invalid ones")
+    void shouldCreateAddressBatch() {
+        List<Address> addresses = List.of(batchItem("01001000"), batchItem("01001-000"), batchItem(null), batchItem("99999999"));
+
+        AddressBatchResult result = addressService.createAddresses(addresses, user.getId());
+
+        assertEquals(2, result.created());
+        assertEquals(2, result.failed());
+        assertNotNull(result.items().get(0).address().id());
+        assertEquals("01001000", result.items().get(1).address().zipCode());
+        assertEquals(400, result.items().get(2).status());
+        assertEquals(400, result.items().get(3).status());
+    }
+
+    @Test
+    @DisplayName("Should throw \"AddressBatchTooLargeException\" if the batch exceeds the maximum size")
+    void shouldFailBatchTooLarge() {
+        List<Address> addresses = new ArrayList<>();
+        for (int i = 0; i <= addressService.getBatchMaxSize(); i++) {
+            addresses.add(batchItem(TestData.ZIP_CODE));
+        }
+
+        assertThrows(AddressBatchTooLargeException.class, () -> addressService.createAddresses(addresses, user.getId()));
+    }
+
+    private Address batchItem(String zipCode) {
+        Address address = new Address();
+        address.setZipCode(zipCode);
+        return address;
+    }
+
 }
@@ -0,0 +1,49 @@
+package com.muller.cepapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+
+import com.muller.cepapp.TestData;
+import com.muller.cepapp.exception.PasswordHashingBusyException;
+
+public class AuthenticationServiceTests {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final ThreadPoolExecutor passwordHashingExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.AbortPolicy());
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        passwordHashingExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should reject logins once the hashing pool and its queue are full")
+    void shouldRejectWhenHashingPoolIsFull() {
+        AuthenticationService authenticationService = new AuthenticationService(authentication -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new TestingAuthenticationToken(authentication.getPrincipal(), null);
+        }, new JwtService("TvFyeyV9JHIx+/OB4yvRBHIlyXA6KhEbxCkPlNMNJ3k=", 60), null, passwordHashingExecutor);
+
+        authenticationService.login(TestData.EMAIL, TestData.PASSWORD);
+        authenticationService.login(TestData.EMAIL, TestData.PASSWORD);
+
+        assertThrows(PasswordHashingBusyException.class, () -> authenticationService.login(TestData.EMAIL, TestData.PASSWORD));
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.muller.cepapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.muller.cepapp.TestData;
+import com.muller.cepapp.security.UserSecurityDetails;
+
+import io.jsonwebtoken.Claims;
+
+public class JwtServiceTests {
+
+    private static final String SECRET = "TvFyeyV9JHIx+/OB4yvRBHIlyXA6KhEbxCkPlNMNJ3k=";
+
+    private static final String OTHER_SECRET = "ChqP1SvIIn1RHxtpbKOjqHS9EFcS/Ni91W6gN/29cCM=";
+
+    private final UserDetails userDetails = new UserSecurityDetails(1L, TestData.EMAIL, TestData.PASSWORD, List.of(new SimpleGrantedAuthority(TestData.ROLE.name())));
+
+    private final JwtService jwtService = new JwtService(SECRET, 60);
+
+    @Test
+    @DisplayName("Should parse a token once and validate it from its claims")
+    void shouldParseAndValidateToken() {
+        String token = jwtService.generateToken(userDetails);
+
+        Claims claims = jwtService.parseToken(token).orElseThrow();
+
+        assertEquals(TestData.EMAIL, claims.getSubject());
+        assertTrue(jwtService.isTokenValid(claims, userDetails));
+        assertTrue(jwtService.isTokenValid(token, userDetails));
+    }
+
+    @Test
+    @DisplayName("Should reject tokens signed with another key")
+    void shouldRejectForeignSignature() {
+        String token = new JwtService(OTHER_SECRET, 60).generateToken(userDetails);
+
+        assertTrue(jwtService.parseToken(token).isEmpty());
+        assertFalse(jwtService.isTokenValid(token, userDetails));
+    }
+
+    @Test
+    @DisplayName("Should reject expired and malformed tokens")
+    void shouldRejectExpiredAndMalformedTokens() {
+        String expired = new JwtService(SECRET, -1).generateToken(userDetails);
+
+        assertTrue(jwtService.parseToken(expired).isEmpty());
+        assertTrue(jwtService.parseToken("not.a.token").isEmpty());
+        assertTrue(jwtService.parseToken("").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject a token issued to another user")
+    void shouldRejectOtherSubject() {
+        UserDetails otherUser = new UserSecurityDetails(2L, "other@example.com", TestData.PASSWORD, List.of());
+        Claims claims = jwtService.parseToken(jwtService.generateToken(otherUser)).orElseThrow();
+
+        assertFalse(jwtService.isTokenValid(claims, userDetails));
+    }
+
+    @Test
+    @DisplayName("Should serve repeated tokens from the verified-token cache")
+    void shouldCacheVerifiedTokens() {
+        JwtService cachingJwtService = new JwtService(SECRET, 60, true, 100);
+        String token = cachingJwtService.generateToken(userDetails);
+
+        Claims first = cachingJwtService.parseToken(token).orElseThrow();
+        Claims second = cachingJwtService.parseToken(token).orElseThrow();
+
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("Should not cache tokens that fail verification")
+    void shouldNotCacheInvalidTokens() {
+        JwtService cachingJwtService = new JwtService(SECRET, 60, true, 100);
+        String foreign = new JwtService(OTHER_SECRET, 60).generateToken(userDetails);
+        String expired = new JwtService(SECRET, -1).generateToken(userDetails);
+
+        assertTrue(cachingJwtService.parseToken(foreign).isEmpty());
+        assertTrue(cachingJwtService.parseToken(foreign).isEmpty());
+        assertTrue(cachingJwtService.parseToken(expired).isEmpty());
+    }
+
+}
@@ -2,6 +2,10 @@ package com.muller.cepapp.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,7 +17,10 @@ import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.muller.cepapp.TestData;
+import com.muller.cepapp.dto.CursorPage;
+import com.muller.cepapp.dto.UserResponse;
 import com.muller.cepapp.entity.User;
+import com.muller.cepapp.exception.InvalidCursorException;
 import com.muller.cepapp.exception.UserNotFoundException;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -43,5 +50,32 @@ public class UserServiceTests {
 
         assertEquals(String.format(UserService.USER_NOT_FOUND_MESSAGE, String.valueOf(nonExistentUserId)), exception.getMessage());
     }
+
+    @Test
+    @DisplayName("Should walk every user once, in name order, following the keyset cursors")
+    void shouldWalkUsersWithKeysetCursor() {
+        userService.createUser(new User("Keyset B", "keyset.b@example.com", TestData.PASSWORD, TestData.ROLE));
+        userService.createUser(new User("Keyset A", "keyset.a@example.com", TestData.PASSWORD, TestData.ROLE));
+        userService.createUser(new User("Keyset A", "keyset.a2@example.com", TestData.PASSWORD, TestData.ROLE));
+
+        List<UserResponse> walked = new ArrayList<>();
+        CursorPage<UserResponse> page = userService.getAllUsers("", 2);
+        walked.addAll(page.content());
+        while (page.hasNext()) {
+            page = userService.getAllUsers(page.nextCursor(), 2);
+            walked.addAll(page.content());
+        }
+
+        List<String> keysetEmails = walked.stream().map(UserResponse::email).filter(email -> email.startsWith("keyset.")).toList();
+        assertEquals(List.of("keyset.a@example.com", "keyset.a2@example.com", "keyset.b@example.com"), keysetEmails);
+        assertEquals(walked.size(), walked.stream().map(UserResponse::id).distinct().count());
+        assertTrue(walked.stream().anyMatch(user -> TestData.EMAIL.equals(user.email())));
+    }
+
+    @Test
+    @DisplayName("Should throw \"InvalidCursorException\" for a malformed cursor")
+    void shouldFailInvalidCursor() {
+        assertThrows(InvalidCursorException.class, () -> userService.getAllUsers("not a cursor", 2));
+    }
     
 }